@@ -0,0 +1,99 @@
+package wiki.creeper.itemManager.benchmark;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import wiki.creeper.itemManager.api.impl.ItemManagerImpl;
+import wiki.creeper.itemManager.cache.OwnerNameCache;
+import wiki.creeper.itemManager.cache.TaggedMaterialFilter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public final class BenchmarkFixture implements AutoCloseable {
+    
+    public static final UUID OWNER = new UUID(0x1234_5678_9abc_def0L, 0x0fed_cba9_8765_4321L);
+    public static final UUID STRANGER = new UUID(0x1111_2222_3333_4444L, 0x5555_6666_7777_8888L);
+    
+    private final Path dataFolder;
+    private final StandIns.Players players = new StandIns.Players();
+    private final Plugin plugin;
+    private final OwnerNameCache ownerNameCache;
+    private final TaggedMaterialFilter materialFilter;
+    private final ItemManagerImpl api;
+    private final NamespacedKey expireTimeKey;
+    
+    public BenchmarkFixture() {
+        try {
+            this.dataFolder = Files.createTempDirectory("itemmanager-bench");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.plugin = StandIns.plugin(dataFolder.toFile(), players);
+        this.ownerNameCache = new OwnerNameCache(plugin, 1024, TimeUnit.HOURS.toMillis(1));
+        this.ownerNameCache.put(OWNER, "Owner");
+        this.materialFilter = new TaggedMaterialFilter(plugin);
+        this.api = new ItemManagerImpl(plugin, ownerNameCache, materialFilter);
+        this.expireTimeKey = new NamespacedKey(plugin, "expire_time");
+    }
+    
+    @NotNull
+    public Plugin plugin() {
+        return plugin;
+    }
+    
+    @NotNull
+    public StandIns.Players players() {
+        return players;
+    }
+    
+    @NotNull
+    public TaggedMaterialFilter materialFilter() {
+        return materialFilter;
+    }
+    
+    @NotNull
+    public ItemManagerImpl api() {
+        return api;
+    }
+    
+    @NotNull
+    public ItemStack plainItem(@NotNull Material material) {
+        return new StandInItemStack(material);
+    }
+    
+    @NotNull
+    public ItemStack taggedItem(@NotNull Material material, long expiresInMillis) {
+        ItemStack item = new StandInItemStack(material);
+        api.setAttributionInPlace(item, OWNER);
+        api.setExpireTimeInPlace(item, new Timestamp(System.currentTimeMillis() + expiresInMillis));
+        return item;
+    }
+    
+    @NotNull
+    public ItemStack expiredItem(@NotNull Material material) {
+        ItemStack item = taggedItem(material, TimeUnit.DAYS.toMillis(1));
+        item.editMeta(meta -> meta.getPersistentDataContainer().set(expireTimeKey, PersistentDataType.LONG, 1L));
+        return item;
+    }
+    
+    @Override
+    public void close() {
+        ownerNameCache.shutdown();
+        try (Stream<Path> paths = Files.walk(dataFolder)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package wiki.creeper.itemManager.benchmark;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.PlayerInventory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import wiki.creeper.itemManager.task.ExpiredItemCheckTask;
+import wiki.creeper.itemManager.tracker.ChunkSummaryStore;
+import wiki.creeper.itemManager.tracker.ExpiryTracker;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpiredItemCheckTaskBenchmark {
+    
+    @Param({"10", "100", "500"})
+    public int players;
+    
+    private BenchmarkFixture fixture;
+    private QueuedTaskScheduler scheduler;
+    private ExpiredItemCheckTask task;
+    
+    @Setup
+    public void setup() {
+        fixture = new BenchmarkFixture();
+        scheduler = new QueuedTaskScheduler();
+        ExpiryTracker tracker = new ExpiryTracker(fixture.api(), new ChunkSummaryStore(fixture.plugin()), 20L);
+        
+        for (int i = 0; i < players; i++) {
+            Player player = fixture.players().join(new UUID(0L, i));
+            PlayerInventory inventory = player.getInventory();
+            for (int slot = 0; slot < inventory.getSize(); slot++) {
+                if (slot % 3 == 0) {
+                    inventory.setItem(slot, fixture.taggedItem(Material.DIAMOND_SWORD, TimeUnit.DAYS.toMillis(1)));
+                } else if (slot % 3 == 1) {
+                    inventory.setItem(slot, fixture.plainItem(Material.COBBLESTONE));
+                }
+            }
+            tracker.track(player);
+        }
+        
+        task = new ExpiredItemCheckTask(fixture.plugin(), fixture.api(), tracker, scheduler,
+                1L, TimeUnit.SECONDS.toMicros(1), Integer.MAX_VALUE);
+    }
+    
+    @TearDown(Level.Invocation)
+    public void settle() {
+        task.awaitEvaluations();
+        scheduler.drain();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        task.shutdown();
+        fixture.close();
+    }
+    
+    @Benchmark
+    public boolean tick() {
+        task.run();
+        return task.isCycleRunning();
+    }
+}
\ No newline at end of file
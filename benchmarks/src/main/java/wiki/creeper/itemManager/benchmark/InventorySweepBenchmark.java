@@ -0,0 +1,70 @@
+package wiki.creeper.itemManager.benchmark;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import wiki.creeper.itemManager.api.impl.ItemManagerImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventorySweepBenchmark {
+    
+    @Param({"27", "54"})
+    public int size;
+    
+    @Param({"0", "4"})
+    public int expiredItems;
+    
+    private BenchmarkFixture fixture;
+    private ItemManagerImpl api;
+    private Inventory inventory;
+    private ItemStack[] template;
+    
+    @Setup
+    public void setup() {
+        fixture = new BenchmarkFixture();
+        api = fixture.api();
+        inventory = StandIns.inventory(size);
+        template = new ItemStack[size];
+        
+        for (int i = 0; i < size; i++) {
+            if (i < expiredItems) {
+                template[i] = fixture.expiredItem(Material.IRON_SWORD);
+            } else if (i % 3 == 0) {
+                template[i] = fixture.taggedItem(Material.IRON_SWORD, TimeUnit.DAYS.toMillis(1));
+            } else if (i % 3 == 1) {
+                template[i] = fixture.plainItem(Material.COBBLESTONE);
+            }
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+    
+    @Benchmark
+    public List<ItemStack> removeAllExpiredItems() {
+        inventory.setContents(template);
+        return api.removeAllExpiredItems(inventory);
+    }
+}
\ No newline at end of file
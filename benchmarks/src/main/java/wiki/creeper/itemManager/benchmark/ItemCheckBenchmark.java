@@ -0,0 +1,102 @@
+package wiki.creeper.itemManager.benchmark;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import wiki.creeper.itemManager.api.ItemState;
+import wiki.creeper.itemManager.api.Verdict;
+import wiki.creeper.itemManager.api.impl.ItemManagerImpl;
+
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemCheckBenchmark {
+    
+    @Param({"false", "true"})
+    public boolean primedFilter;
+    
+    private BenchmarkFixture fixture;
+    private ItemManagerImpl api;
+    private ItemStack tagged;
+    private ItemStack expired;
+    private ItemStack plain;
+    private ItemStack mutable;
+    private Timestamp expireTime;
+    
+    @Setup
+    public void setup() {
+        fixture = new BenchmarkFixture();
+        api = fixture.api();
+        tagged = fixture.taggedItem(Material.DIAMOND_SWORD, TimeUnit.DAYS.toMillis(1));
+        expired = fixture.expiredItem(Material.DIAMOND_SWORD);
+        plain = fixture.plainItem(Material.COBBLESTONE);
+        mutable = fixture.taggedItem(Material.DIAMOND_PICKAXE, TimeUnit.DAYS.toMillis(1));
+        expireTime = new Timestamp(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(30));
+        
+        if (primedFilter) {
+            fixture.materialFilter().prime();
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+    
+    @Benchmark
+    public ItemState readStateTagged() {
+        return api.readState(tagged);
+    }
+    
+    @Benchmark
+    public ItemState readStatePlain() {
+        return api.readState(plain);
+    }
+    
+    @Benchmark
+    public boolean isExpiredTagged() {
+        return api.isExpired(tagged);
+    }
+    
+    @Benchmark
+    public boolean isExpiredExpired() {
+        return api.isExpired(expired);
+    }
+    
+    @Benchmark
+    public boolean canUseOwner() {
+        return api.canUse(tagged, BenchmarkFixture.OWNER);
+    }
+    
+    @Benchmark
+    public Verdict evaluateStranger() {
+        return api.evaluate(tagged, BenchmarkFixture.STRANGER);
+    }
+    
+    @Benchmark
+    public Verdict evaluatePlain() {
+        return api.evaluate(plain, BenchmarkFixture.STRANGER);
+    }
+    
+    @Benchmark
+    public boolean setExpireTimeInPlace() {
+        return api.setExpireTimeInPlace(mutable, expireTime);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package wiki.creeper.itemManager.benchmark;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import wiki.creeper.itemManager.api.impl.ItemManagerImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoreBenchmark {
+    
+    @Param({"0", "4", "16", "64"})
+    public int extraLoreLines;
+    
+    private BenchmarkFixture fixture;
+    private ItemManagerImpl api;
+    private ItemStack item;
+    
+    @Setup
+    public void setup() {
+        fixture = new BenchmarkFixture();
+        api = fixture.api();
+        item = fixture.taggedItem(Material.NETHERITE_CHESTPLATE, TimeUnit.DAYS.toMillis(1));
+        item.editMeta(meta -> {
+            List<Component> lore = meta.hasLore() ? new ArrayList<>(meta.lore()) : new ArrayList<>();
+            for (int i = 0; i < extraLoreLines; i++) {
+                lore.add(Component.text("Lore line " + i));
+            }
+            meta.lore(lore);
+        });
+    }
+    
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+    
+    @Benchmark
+    public boolean refreshExpireLore() {
+        return api.refreshExpireLoreInPlace(item);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package wiki.creeper.itemManager.benchmark;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import wiki.creeper.itemManager.scheduler.TaskHandle;
+import wiki.creeper.itemManager.scheduler.TaskScheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class QueuedTaskScheduler implements TaskScheduler {
+    
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    
+    public int drain() {
+        int executed = 0;
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            task.run();
+            executed++;
+        }
+        return executed;
+    }
+    
+    @Override
+    public boolean isOwnedByCurrentThread(@NotNull Entity entity) {
+        return true;
+    }
+    
+    @Override
+    public void runForEntity(@NotNull Entity entity, @NotNull Runnable task) {
+        queue.add(task);
+    }
+    
+    @Override
+    public void runForEntityLater(@NotNull Entity entity, @NotNull Runnable task, long delayTicks) {
+        queue.add(task);
+    }
+    
+    @Override
+    public void runAtLocation(@NotNull Location location, @NotNull Runnable task) {
+        queue.add(task);
+    }
+    
+    @Override
+    public void runAtLocationLater(@NotNull Location location, @NotNull Runnable task, long delayTicks) {
+        queue.add(task);
+    }
+    
+    @Override
+    public void runGlobal(@NotNull Runnable task) {
+        queue.add(task);
+    }
+    
+    @Override
+    @NotNull
+    public TaskHandle runGlobalTimer(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        return () -> {
+        };
+    }
+    
+    @Override
+    public void cancelTasks() {
+        queue.clear();
+    }
+}
\ No newline at end of file
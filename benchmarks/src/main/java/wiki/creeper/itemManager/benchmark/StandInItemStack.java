@@ -0,0 +1,80 @@
+package wiki.creeper.itemManager.benchmark;
+
+import io.papermc.paper.persistence.PersistentDataContainerView;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+public class StandInItemStack extends ItemStack {
+    
+    private final Material type;
+    private int amount;
+    private StandInMeta meta;
+    
+    public StandInItemStack(@NotNull Material type) {
+        this(type, 1, new StandInMeta());
+    }
+    
+    private StandInItemStack(Material type, int amount, StandInMeta meta) {
+        this.type = type;
+        this.amount = amount;
+        this.meta = meta;
+    }
+    
+    @Override
+    @NotNull
+    public Material getType() {
+        return type;
+    }
+    
+    @Override
+    public int getAmount() {
+        return amount;
+    }
+    
+    @Override
+    public void setAmount(int amount) {
+        this.amount = amount;
+    }
+    
+    @Override
+    public boolean hasItemMeta() {
+        return !meta.isEmpty();
+    }
+    
+    @Override
+    @NotNull
+    public ItemMeta getItemMeta() {
+        return meta.copy().meta();
+    }
+    
+    @Override
+    public boolean setItemMeta(@Nullable ItemMeta itemMeta) {
+        meta = itemMeta != null ? StandInMeta.of(itemMeta).copy() : new StandInMeta();
+        return true;
+    }
+    
+    @Override
+    public boolean editMeta(@NotNull Consumer<? super ItemMeta> consumer) {
+        StandInMeta edited = meta.copy();
+        consumer.accept(edited.meta());
+        meta = edited;
+        return true;
+    }
+    
+    @Override
+    @NotNull
+    public PersistentDataContainerView getPersistentDataContainer() {
+        return meta.container();
+    }
+    
+    @Override
+    @NotNull
+    public StandInItemStack clone() {
+        return new StandInItemStack(type, amount, meta.copy());
+    }
+}
\ No newline at end of file
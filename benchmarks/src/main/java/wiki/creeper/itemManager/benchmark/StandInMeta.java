@@ -0,0 +1,141 @@
+package wiki.creeper.itemManager.benchmark;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class StandInMeta {
+    
+    private final List<Component> lore;
+    private final Map<NamespacedKey, Object> values;
+    private final ItemMeta meta;
+    private final PersistentDataContainer container;
+    
+    StandInMeta() {
+        this(new ArrayList<>(), new HashMap<>());
+    }
+    
+    private StandInMeta(List<Component> lore, Map<NamespacedKey, Object> values) {
+        this.lore = lore;
+        this.values = values;
+        this.meta = (ItemMeta) Proxy.newProxyInstance(ItemMeta.class.getClassLoader(), new Class<?>[]{ItemMeta.class}, new MetaHandler());
+        this.container = (PersistentDataContainer) Proxy.newProxyInstance(PersistentDataContainer.class.getClassLoader(),
+                new Class<?>[]{PersistentDataContainer.class}, new ContainerHandler());
+    }
+    
+    @NotNull
+    static StandInMeta of(@NotNull ItemMeta meta) {
+        if (Proxy.isProxyClass(meta.getClass()) && Proxy.getInvocationHandler(meta) instanceof MetaHandler handler) {
+            return handler.owner();
+        }
+        throw new IllegalArgumentException("Not a stand-in item meta: " + meta.getClass().getName());
+    }
+    
+    @NotNull
+    StandInMeta copy() {
+        return new StandInMeta(new ArrayList<>(lore), new HashMap<>(values));
+    }
+    
+    @NotNull
+    ItemMeta meta() {
+        return meta;
+    }
+    
+    @NotNull
+    PersistentDataContainer container() {
+        return container;
+    }
+    
+    boolean isEmpty() {
+        return lore.isEmpty() && values.isEmpty();
+    }
+    
+    private Object objectMethod(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> proxy.getClass().getInterfaces()[0].getSimpleName() + values;
+        };
+    }
+    
+    private static UnsupportedOperationException unsupported(Method method) {
+        return new UnsupportedOperationException(method.getDeclaringClass().getSimpleName() + "#" + method.getName());
+    }
+    
+    private final class MetaHandler implements InvocationHandler {
+        
+        StandInMeta owner() {
+            return StandInMeta.this;
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (method.getDeclaringClass() == Object.class) return objectMethod(proxy, method, args);
+            
+            switch (method.getName()) {
+                case "hasLore":
+                    return !lore.isEmpty();
+                case "lore":
+                    if (args == null) return lore.isEmpty() ? null : new ArrayList<>(lore);
+                    
+                    lore.clear();
+                    if (args[0] != null) {
+                        lore.addAll((List<? extends Component>) args[0]);
+                    }
+                    return null;
+                case "getPersistentDataContainer":
+                    return container;
+                case "clone":
+                    return copy().meta();
+                default:
+                    throw unsupported(method);
+            }
+        }
+    }
+    
+    private final class ContainerHandler implements InvocationHandler {
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (method.getDeclaringClass() == Object.class) return objectMethod(proxy, method, args);
+            
+            switch (method.getName()) {
+                case "get":
+                    Object value = values.get((NamespacedKey) args[0]);
+                    return ((PersistentDataType<?, ?>) args[1]).getComplexType().isInstance(value) ? value : null;
+                case "getOrDefault":
+                    Object stored = values.get((NamespacedKey) args[0]);
+                    return ((PersistentDataType<?, ?>) args[1]).getComplexType().isInstance(stored) ? stored : args[2];
+                case "set":
+                    values.put((NamespacedKey) args[0], args[2]);
+                    return null;
+                case "has":
+                    Object present = values.get((NamespacedKey) args[0]);
+                    if (args.length == 1) return present != null;
+                    
+                    return ((PersistentDataType<?, ?>) args[1]).getComplexType().isInstance(present);
+                case "remove":
+                    values.remove((NamespacedKey) args[0]);
+                    return null;
+                case "isEmpty":
+                    return values.isEmpty();
+                case "getKeys":
+                    return values.keySet();
+                default:
+                    throw unsupported(method);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package wiki.creeper.itemManager.benchmark;
+
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+public final class StandIns {
+    
+    public static final int PLAYER_INVENTORY_SIZE = 41;
+    public static final int PLAYER_STORAGE_SIZE = 36;
+    
+    private StandIns() {
+    }
+    
+    public static final class Players {
+        
+        private final Map<UUID, Player> online = new LinkedHashMap<>();
+        
+        private Server server;
+        
+        @NotNull
+        public Player join(@NotNull UUID playerUUID) {
+            InventoryHolder[] holder = new InventoryHolder[1];
+            PlayerInventory inventory = inventory(PlayerInventory.class, PLAYER_INVENTORY_SIZE, PLAYER_STORAGE_SIZE, holder);
+            Player player = player(playerUUID, inventory, () -> server);
+            holder[0] = player;
+            online.put(playerUUID, player);
+            return player;
+        }
+        
+        @NotNull
+        public Collection<Player> online() {
+            return online.values();
+        }
+    }
+    
+    @NotNull
+    public static Plugin plugin(@NotNull File dataFolder, @NotNull Players players) {
+        Logger logger = Logger.getLogger("ItemManager");
+        Server server = server(players, logger);
+        players.server = server;
+        return proxy(Plugin.class, (method, args) -> switch (method.getName()) {
+            case "getName" -> "ItemManager";
+            case "getDataFolder" -> dataFolder;
+            case "getLogger" -> logger;
+            case "getServer" -> server;
+            case "isEnabled" -> true;
+            default -> throw unsupported(method);
+        });
+    }
+    
+    @NotNull
+    public static Inventory inventory(int size) {
+        return inventory(Inventory.class, size, size, new InventoryHolder[1]);
+    }
+    
+    private static Server server(Players players, Logger logger) {
+        PluginManager pluginManager = proxy(PluginManager.class, (method, args) -> switch (method.getName()) {
+            case "callEvent" -> null;
+            default -> throw unsupported(method);
+        });
+        return proxy(Server.class, (method, args) -> switch (method.getName()) {
+            case "getOnlinePlayers" -> players.online();
+            case "getPlayer" -> args[0] instanceof UUID playerUUID ? players.online.get(playerUUID) : null;
+            case "getEntity" -> players.online.get((UUID) args[0]);
+            case "getPluginManager" -> pluginManager;
+            case "getLogger" -> logger;
+            case "isPrimaryThread", "isOwnedByCurrentRegion", "isGlobalTickThread" -> true;
+            default -> throw unsupported(method);
+        });
+    }
+    
+    private static Player player(UUID playerUUID, PlayerInventory inventory, Supplier<Server> server) {
+        String name = playerUUID.toString().substring(0, 8);
+        return proxy(Player.class, (method, args) -> switch (method.getName()) {
+            case "getUniqueId" -> playerUUID;
+            case "getName" -> name;
+            case "getInventory" -> inventory;
+            case "getServer" -> server.get();
+            case "isOnline", "isValid" -> true;
+            case "hasPermission", "isOp" -> false;
+            case "updateInventory", "sendMessage", "sendActionBar" -> null;
+            default -> throw unsupported(method);
+        });
+    }
+    
+    private static <T extends Inventory> T inventory(Class<T> type, int size, int storageSize, InventoryHolder[] holder) {
+        ItemStack[] contents = new ItemStack[size];
+        return proxy(type, (method, args) -> switch (method.getName()) {
+            case "getSize" -> size;
+            case "getMaxStackSize" -> 99;
+            case "getItem" -> contents[(int) args[0]];
+            case "setItem" -> {
+                contents[(int) args[0]] = (ItemStack) args[1];
+                yield null;
+            }
+            case "getContents" -> contents.clone();
+            case "getStorageContents" -> Arrays.copyOf(contents, storageSize);
+            case "setContents", "setStorageContents" -> {
+                int limit = method.getName().equals("setContents") ? size : storageSize;
+                Arrays.fill(contents, 0, limit, null);
+                ItemStack[] replacement = (ItemStack[]) args[0];
+                System.arraycopy(replacement, 0, contents, 0, Math.min(limit, replacement.length));
+                yield null;
+            }
+            case "clear" -> {
+                if (args == null) {
+                    Arrays.fill(contents, null);
+                } else {
+                    contents[(int) args[0]] = null;
+                }
+                yield null;
+            }
+            case "isEmpty" -> Arrays.stream(contents).allMatch(item -> item == null);
+            case "getHolder" -> holder[0];
+            case "getViewers" -> List.of();
+            case "iterator" -> Arrays.asList(contents).listIterator(args == null ? 0 : (int) args[0]);
+            default -> throw unsupported(method);
+        });
+    }
+    
+    private interface Handler {
+        Object handle(Method method, Object[] args);
+    }
+    
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                };
+            }
+            return handler.handle(method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler));
+    }
+    
+    private static UnsupportedOperationException unsupported(Method method) {
+        return new UnsupportedOperationException(method.getDeclaringClass().getSimpleName() + "#" + method.getName());
+    }
+}
\ No newline at end of file
@@ -1,40 +1,199 @@
 package wiki.creeper.itemManager;
 
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
 import org.bukkit.plugin.java.JavaPlugin;
 import wiki.creeper.itemManager.api.ItemManagerAPI;
+import wiki.creeper.itemManager.api.LoreRenderMode;
 import wiki.creeper.itemManager.api.impl.ItemManagerImpl;
+import wiki.creeper.itemManager.cache.OwnerNameCache;
+import wiki.creeper.itemManager.cache.TaggedMaterialFilter;
+import wiki.creeper.itemManager.command.ItemManagerCommand;
+import wiki.creeper.itemManager.listener.ContainerEventListener;
+import wiki.creeper.itemManager.listener.DroppedItemListener;
 import wiki.creeper.itemManager.listener.ItemEventListener;
+import wiki.creeper.itemManager.listener.RegistryListener;
+import wiki.creeper.itemManager.offline.OfflinePlayerSweeper;
+import wiki.creeper.itemManager.offline.OfflineSweepListener;
+import wiki.creeper.itemManager.registry.ItemRegistry;
+import wiki.creeper.itemManager.render.ProtocolLibLoreRenderer;
+import wiki.creeper.itemManager.scheduler.TaskScheduler;
+import wiki.creeper.itemManager.task.CountdownLoreTask;
 import wiki.creeper.itemManager.task.ExpiredItemCheckTask;
+import wiki.creeper.itemManager.task.ExpiryWheelTask;
+import wiki.creeper.itemManager.tracker.ChunkSummaryStore;
+import wiki.creeper.itemManager.tracker.ExpiryTracker;
+
+import java.util.logging.Level;
 
 public final class ItemManager extends JavaPlugin {
     
     private static ItemManager instance;
     private ItemManagerAPI itemManagerAPI;
+    private OwnerNameCache ownerNameCache;
+    private TaggedMaterialFilter materialFilter;
+    private ProtocolLibLoreRenderer loreRenderer;
+    private TaskScheduler taskScheduler;
+    private ExpiryTracker expiryTracker;
     private ExpiredItemCheckTask expiredItemCheckTask;
+    private ExpiryWheelTask expiryWheelTask;
+    private CountdownLoreTask countdownLoreTask;
+    private ItemRegistry itemRegistry;
+    private OfflinePlayerSweeper offlineSweeper;
 
     @Override
     public void onEnable() {
         instance = this;
+        saveDefaultConfig();
+        
+        ownerNameCache = new OwnerNameCache(this,
+                getConfig().getInt("owner-name-cache.max-size", 10000),
+                getConfig().getLong("owner-name-cache.ttl-minutes", 60L) * 60_000L);
+        materialFilter = new TaggedMaterialFilter(this);
+        materialFilter.load();
+        ItemManagerImpl itemManagerImpl = new ItemManagerImpl(this, ownerNameCache, materialFilter);
+        itemManagerAPI = itemManagerImpl;
+        setupLoreRenderer(itemManagerImpl);
+        setupItemRegistry(itemManagerImpl);
+        taskScheduler = TaskScheduler.create(this);
+        expiryTracker = new ExpiryTracker(itemManagerAPI, new ChunkSummaryStore(this), getConfig().getLong("inventory-audit.debounce-ticks", 10L));
+        
+        getServer().getPluginManager().registerEvents(new ItemEventListener(this, itemManagerAPI, expiryTracker, taskScheduler, ownerNameCache), this);
+        getServer().getOnlinePlayers().forEach(player -> taskScheduler.runForEntity(player, () -> expiryTracker.track(player)));
         
-        itemManagerAPI = new ItemManagerImpl(this);
+        getServer().getPluginManager().registerEvents(new ContainerEventListener(itemManagerAPI, expiryTracker, taskScheduler), this);
+        getServer().getPluginManager().registerEvents(new DroppedItemListener(expiryTracker, taskScheduler), this);
+        if (!TaskScheduler.isFolia()) {
+            trackLoadedChunks();
+        }
         
-        getServer().getPluginManager().registerEvents(new ItemEventListener(this, itemManagerAPI), this);
+        expiryWheelTask = new ExpiryWheelTask(this, itemManagerAPI, expiryTracker, taskScheduler);
+        expiryWheelTask.start();
         
-        expiredItemCheckTask = new ExpiredItemCheckTask(this, itemManagerAPI, 20L * 60);
+        expiredItemCheckTask = new ExpiredItemCheckTask(this, itemManagerAPI, expiryTracker, taskScheduler,
+                getConfig().getLong("expiry-sweep.cycle-interval-ticks", 20L * 60),
+                getConfig().getLong("expiry-sweep.budget-micros", 500L),
+                getConfig().getInt("expiry-sweep.budget-slots", 328));
         expiredItemCheckTask.start();
         
+        setupOfflineSweeper();
+        getCommand("itemmanager").setExecutor(new ItemManagerCommand(materialFilter));
+        
+        if (itemManagerImpl.isLiveCountdown()) {
+            countdownLoreTask = new CountdownLoreTask(this, itemManagerAPI, taskScheduler, loreRenderer);
+            countdownLoreTask.start();
+        }
+        
         getLogger().info("ItemManager has been enabled!");
     }
 
     @Override
     public void onDisable() {
+        if (loreRenderer != null) {
+            loreRenderer.unregister();
+        }
+        
+        if (expiryWheelTask != null) {
+            expiryWheelTask.cancel();
+        }
+        
+        if (countdownLoreTask != null) {
+            countdownLoreTask.cancel();
+        }
+        
         if (expiredItemCheckTask != null) {
-            expiredItemCheckTask.cancel();
+            expiredItemCheckTask.shutdown();
+        }
+        
+        if (taskScheduler != null) {
+            taskScheduler.cancelTasks();
+        }
+        
+        if (ownerNameCache != null) {
+            ownerNameCache.shutdown();
+        }
+        
+        if (materialFilter != null) {
+            materialFilter.save();
+        }
+        
+        if (offlineSweeper != null) {
+            offlineSweeper.shutdown();
+        }
+        
+        if (itemRegistry != null) {
+            itemRegistry.shutdown();
         }
         
         getLogger().info("ItemManager has been disabled!");
     }
     
+    private void setupItemRegistry(ItemManagerImpl itemManagerImpl) {
+        if (!getConfig().getBoolean("item-registry.enabled", false)) return;
+        
+        itemRegistry = new ItemRegistry(this, getConfig().getLong("item-registry.flush-interval-ms", 1000L));
+        itemRegistry.start();
+        itemManagerImpl.setItemRegistry(itemRegistry);
+        getServer().getPluginManager().registerEvents(new RegistryListener(itemManagerImpl, itemRegistry), this);
+    }
+    
+    private void trackLoadedChunks() {
+        long now = System.currentTimeMillis();
+        for (World world : getServer().getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                expiryTracker.loadChunk(chunk, now);
+                for (Entity entity : chunk.getEntities()) {
+                    if (entity instanceof Item item) {
+                        expiryTracker.trackEntity(item);
+                    }
+                }
+            }
+        }
+    }
+    
+    private void setupOfflineSweeper() {
+        if (!getConfig().getBoolean("offline-sweep.enabled", false)) return;
+        
+        offlineSweeper = new OfflinePlayerSweeper(this, itemRegistry, getConfig().getInt("offline-sweep.threads", 2));
+        getServer().getPluginManager().registerEvents(new OfflineSweepListener(offlineSweeper), this);
+        
+        long intervalTicks = Math.max(1L, getConfig().getLong("offline-sweep.interval-minutes", 60L)) * 60L * 20L;
+        taskScheduler.runGlobalTimer(() -> {
+            if (offlineSweeper.isRunning()) return;
+            
+            offlineSweeper.sweep().whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    getLogger().log(Level.WARNING, "Offline sweep failed", throwable);
+                    return;
+                }
+                getLogger().info("Offline sweep scanned " + result.scanned() + " player files, removed " + result.itemsRemoved()
+                        + " expired items from " + result.modified() + " files (" + result.skipped() + " skipped)");
+            });
+        }, intervalTicks, intervalTicks);
+    }
+    
+    private void setupLoreRenderer(ItemManagerImpl itemManagerImpl) {
+        String mode = getConfig().getString("lore.render-mode", "item");
+        if (!mode.equalsIgnoreCase(LoreRenderMode.CLIENT.name())) {
+            if (getConfig().getBoolean("lore.live-countdown", false)) {
+                getLogger().warning("lore.live-countdown requires lore.render-mode: client; countdown disabled");
+            }
+            return;
+        }
+        
+        if (!getServer().getPluginManager().isPluginEnabled("ProtocolLib")) {
+            getLogger().warning("lore.render-mode is set to client but ProtocolLib is not installed; falling back to item lore");
+            return;
+        }
+        
+        itemManagerImpl.setLoreRenderMode(LoreRenderMode.CLIENT);
+        itemManagerImpl.setLiveCountdown(getConfig().getBoolean("lore.live-countdown", false));
+        loreRenderer = new ProtocolLibLoreRenderer(this, itemManagerImpl);
+        loreRenderer.register();
+    }
+    
     public static ItemManager getInstance() {
         return instance;
     }
@@ -42,4 +201,16 @@ public final class ItemManager extends JavaPlugin {
     public ItemManagerAPI getItemManagerAPI() {
         return itemManagerAPI;
     }
+    
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+    
+    public ExpiredItemCheckTask getExpiredItemCheckTask() {
+        return expiredItemCheckTask;
+    }
+    
+    public ItemRegistry getItemRegistry() {
+        return itemRegistry;
+    }
 }
@@ -0,0 +1,92 @@
+package wiki.creeper.itemManager.api;
+
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import wiki.creeper.itemManager.exception.ItemManagerException;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+public final class ItemEditor {
+    
+    private final ItemManagerAPI api;
+    private final ItemStack itemStack;
+    private final ItemMutation.Builder builder = ItemMutation.builder();
+    private Timestamp expireTime;
+    private long extendMillis;
+    private boolean removeExpireTime;
+    
+    public ItemEditor(@NotNull ItemManagerAPI api, @NotNull ItemStack itemStack) {
+        this.api = api;
+        this.itemStack = itemStack;
+    }
+    
+    @NotNull
+    public ItemEditor expireTime(@NotNull Timestamp expireTime) {
+        this.expireTime = expireTime;
+        this.extendMillis = 0L;
+        this.removeExpireTime = false;
+        return this;
+    }
+    
+    @NotNull
+    public ItemEditor extendExpireTime(long additionalMillis) {
+        this.extendMillis += additionalMillis;
+        this.removeExpireTime = false;
+        return this;
+    }
+    
+    @NotNull
+    public ItemEditor removeExpireTime() {
+        this.expireTime = null;
+        this.extendMillis = 0L;
+        this.removeExpireTime = true;
+        return this;
+    }
+    
+    @NotNull
+    public ItemEditor owner(@NotNull UUID owner) {
+        builder.owner(owner);
+        return this;
+    }
+    
+    @NotNull
+    public ItemEditor removeAttribution() {
+        builder.removeAttribution();
+        return this;
+    }
+    
+    @NotNull
+    public ItemStack getItemStack() {
+        return itemStack;
+    }
+    
+    public boolean apply() {
+        if (removeExpireTime) {
+            builder.removeExpireTime();
+        } else if (expireTime != null || extendMillis != 0L) {
+            builder.expireTime(resolveExpireTime());
+        }
+        
+        return api.applyBatchInPlace(List.of(itemStack), builder.build()) > 0;
+    }
+    
+    @NotNull
+    private Timestamp resolveExpireTime() {
+        if (extendMillis == 0L) return expireTime;
+        
+        long base;
+        if (expireTime != null) {
+            base = expireTime.getTime();
+        } else {
+            ItemState state = api.readState(itemStack);
+            if (!state.hasExpireTime()) {
+                throw new ItemManagerException.InvalidItemException("Item does not have expire time");
+            }
+            base = state.expireTime();
+        }
+        
+        return new Timestamp(base + extendMillis);
+    }
+}
\ No newline at end of file
@@ -1,12 +1,15 @@
 package wiki.creeper.itemManager.api;
 
+import org.bukkit.block.TileState;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 public interface ItemManagerAPI {
     
@@ -15,6 +18,8 @@ public interface ItemManagerAPI {
     @NotNull
     ItemStack setExpireTime(@NotNull ItemStack itemStack, @NotNull Timestamp expireTime);
     
+    boolean setExpireTimeInPlace(@NotNull ItemStack itemStack, @NotNull Timestamp expireTime);
+    
     @Nullable
     Timestamp getExpireTime(@NotNull ItemStack itemStack);
     
@@ -23,22 +28,43 @@ public interface ItemManagerAPI {
     @NotNull
     ItemStack setAttribution(@NotNull ItemStack itemStack, @NotNull UUID playerUUID);
     
+    boolean setAttributionInPlace(@NotNull ItemStack itemStack, @NotNull UUID playerUUID);
+    
     @Nullable
     UUID getAttribution(@NotNull ItemStack itemStack);
     
+    @NotNull
+    String getOwnerName(@NotNull UUID playerUUID);
+    
     boolean isExpired(@NotNull ItemStack itemStack);
     
+    @NotNull
+    ItemState readState(@NotNull ItemStack itemStack);
+    
+    boolean migrateLegacyAttribution(@NotNull ItemStack itemStack);
+    
+    boolean refreshOwnerNameInPlace(@NotNull ItemStack itemStack);
+    
     @NotNull
     ItemStack removeExpireTime(@NotNull ItemStack itemStack);
     
+    boolean removeExpireTimeInPlace(@NotNull ItemStack itemStack);
+    
     @NotNull
     ItemStack removeAttribution(@NotNull ItemStack itemStack);
     
+    boolean removeAttributionInPlace(@NotNull ItemStack itemStack);
+    
     boolean canUse(@NotNull ItemStack itemStack, @NotNull UUID playerUUID);
     
+    @NotNull
+    Verdict evaluate(@Nullable ItemStack itemStack, @NotNull UUID playerUUID);
+    
     @NotNull
     ItemStack extendExpireTime(@NotNull ItemStack itemStack, long additionalMillis);
     
+    boolean extendExpireTimeInPlace(@NotNull ItemStack itemStack, long additionalMillis);
+    
     boolean hasConflictingNBT(@NotNull ItemStack itemStack);
     
     @NotNull
@@ -51,10 +77,41 @@ public interface ItemManagerAPI {
     @NotNull
     ItemStack refreshExpireLore(@NotNull ItemStack itemStack);
     
+    boolean refreshExpireLoreInPlace(@NotNull ItemStack itemStack);
+    
+    @NotNull
+    ItemEditor edit(@NotNull ItemStack itemStack);
+    
+    @NotNull
+    LoreRenderMode getLoreRenderMode();
+    
     boolean compareAttributions(@NotNull ItemStack item1, @NotNull ItemStack item2);
     
     @NotNull
     List<ItemStack> removeAllExpiredItems(@NotNull org.bukkit.inventory.Inventory inventory);
     
+    long getItemId(@NotNull ItemStack itemStack);
+    
+    boolean isContainerItem(@NotNull ItemStack itemStack);
+    
+    long getNestedExpiry(@NotNull ItemStack itemStack);
+    
+    @NotNull
+    List<ItemStack> removeExpiredNestedItems(@NotNull ItemStack itemStack);
+    
+    @NotNull
+    List<ItemStack> removeExpiredNestedItems(@NotNull ItemStack itemStack, @NotNull Predicate<ItemStack> filter);
+    
+    boolean invalidateNestedExpiry(@NotNull ItemStack itemStack);
+    
+    boolean invalidateNestedExpiry(@NotNull TileState tileState);
+    
+    boolean cacheNestedExpiry(@NotNull ItemStack itemStack);
+    
     int countAttributedItems(@NotNull org.bukkit.inventory.Inventory inventory, @NotNull UUID playerUUID);
+    
+    @NotNull
+    List<ItemStack> applyBatch(@NotNull Collection<ItemStack> itemStacks, @NotNull ItemMutation mutation);
+    
+    int applyBatchInPlace(@NotNull Collection<ItemStack> itemStacks, @NotNull ItemMutation mutation);
 }
\ No newline at end of file
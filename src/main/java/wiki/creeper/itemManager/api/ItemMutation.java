@@ -0,0 +1,93 @@
+package wiki.creeper.itemManager.api;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+public final class ItemMutation {
+    
+    private final Timestamp expireTime;
+    private final UUID owner;
+    private final boolean removeExpireTime;
+    private final boolean removeAttribution;
+    
+    private ItemMutation(Builder builder) {
+        this.expireTime = builder.expireTime;
+        this.owner = builder.owner;
+        this.removeExpireTime = builder.removeExpireTime;
+        this.removeAttribution = builder.removeAttribution;
+    }
+    
+    @NotNull
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    @Nullable
+    public Timestamp getExpireTime() {
+        return expireTime;
+    }
+    
+    @Nullable
+    public UUID getOwner() {
+        return owner;
+    }
+    
+    public boolean isRemoveExpireTime() {
+        return removeExpireTime;
+    }
+    
+    public boolean isRemoveAttribution() {
+        return removeAttribution;
+    }
+    
+    public boolean isEmpty() {
+        return expireTime == null && owner == null && !removeExpireTime && !removeAttribution;
+    }
+    
+    public static final class Builder {
+        
+        private Timestamp expireTime;
+        private UUID owner;
+        private boolean removeExpireTime;
+        private boolean removeAttribution;
+        
+        private Builder() {
+        }
+        
+        @NotNull
+        public Builder expireTime(@NotNull Timestamp expireTime) {
+            this.expireTime = expireTime;
+            this.removeExpireTime = false;
+            return this;
+        }
+        
+        @NotNull
+        public Builder owner(@NotNull UUID owner) {
+            this.owner = owner;
+            this.removeAttribution = false;
+            return this;
+        }
+        
+        @NotNull
+        public Builder removeExpireTime() {
+            this.expireTime = null;
+            this.removeExpireTime = true;
+            return this;
+        }
+        
+        @NotNull
+        public Builder removeAttribution() {
+            this.owner = null;
+            this.removeAttribution = true;
+            return this;
+        }
+        
+        @NotNull
+        public ItemMutation build() {
+            return new ItemMutation(this);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package wiki.creeper.itemManager.api;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+public record ItemState(boolean hasExpireTime, long expireTime,
+                        boolean hasAttribution, long ownerMostBits, long ownerLeastBits) {
+    
+    public static final ItemState EMPTY = new ItemState(false, 0L, false, 0L, 0L);
+    
+    public boolean isTracked() {
+        return hasExpireTime || hasAttribution;
+    }
+    
+    public boolean isExpired(long now) {
+        return hasExpireTime && now > expireTime;
+    }
+    
+    public boolean isExpired() {
+        return isExpired(System.currentTimeMillis());
+    }
+    
+    @Nullable
+    public Timestamp getExpireTimestamp() {
+        return hasExpireTime ? new Timestamp(expireTime) : null;
+    }
+    
+    @Nullable
+    public UUID getOwner() {
+        return hasAttribution ? new UUID(ownerMostBits, ownerLeastBits) : null;
+    }
+    
+    public boolean isOwner(@NotNull UUID playerUUID) {
+        return hasAttribution
+                && ownerMostBits == playerUUID.getMostSignificantBits()
+                && ownerLeastBits == playerUUID.getLeastSignificantBits();
+    }
+    
+    public boolean isDeniedFor(@NotNull UUID playerUUID) {
+        return hasAttribution && !isOwner(playerUUID);
+    }
+    
+    public boolean canUse(@NotNull UUID playerUUID, long now) {
+        return !isExpired(now) && !isDeniedFor(playerUUID);
+    }
+}
\ No newline at end of file
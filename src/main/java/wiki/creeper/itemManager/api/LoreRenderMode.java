@@ -0,0 +1,6 @@
+package wiki.creeper.itemManager.api;
+
+public enum LoreRenderMode {
+    ITEM,
+    CLIENT
+}
\ No newline at end of file
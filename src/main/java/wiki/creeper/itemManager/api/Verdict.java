@@ -0,0 +1,33 @@
+package wiki.creeper.itemManager.api;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+public sealed interface Verdict permits Verdict.Allowed, Verdict.Expired, Verdict.Denied {
+    
+    @NotNull
+    static Verdict of(@NotNull ItemState state, @NotNull UUID playerUUID, long now) {
+        if (!state.isTracked()) return Allowed.UNTRACKED;
+        if (state.isExpired(now)) return new Expired(state.expireTime());
+        if (state.isDeniedFor(playerUUID)) return new Denied(state.getOwner());
+        return new Allowed(state);
+    }
+    
+    record Allowed(@NotNull ItemState state) implements Verdict {
+        
+        public static final Allowed UNTRACKED = new Allowed(ItemState.EMPTY);
+    }
+    
+    record Expired(long expireTime) implements Verdict {
+        
+        @NotNull
+        public Timestamp getExpireTimestamp() {
+            return new Timestamp(expireTime);
+        }
+    }
+    
+    record Denied(@NotNull UUID owner) implements Verdict {
+    }
+}
\ No newline at end of file
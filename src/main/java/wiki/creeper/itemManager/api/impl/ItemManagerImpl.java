@@ -1,9 +1,9 @@
 package wiki.creeper.itemManager.api.impl;
 
+import io.papermc.paper.persistence.PersistentDataContainerView;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
-import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.NamespacedKey;
+import org.bukkit.block.TileState;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
@@ -11,37 +11,73 @@ import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import wiki.creeper.itemManager.api.ItemEditor;
 import wiki.creeper.itemManager.api.ItemManagerAPI;
+import wiki.creeper.itemManager.api.ItemMutation;
+import wiki.creeper.itemManager.api.ItemState;
+import wiki.creeper.itemManager.api.LoreRenderMode;
+import wiki.creeper.itemManager.api.Verdict;
+import wiki.creeper.itemManager.cache.LoreComponentCache;
+import wiki.creeper.itemManager.cache.OwnerNameCache;
+import wiki.creeper.itemManager.cache.TaggedMaterialFilter;
+import wiki.creeper.itemManager.registry.ItemRecord;
+import wiki.creeper.itemManager.registry.ItemRegistry;
+import wiki.creeper.itemManager.util.TimeUtil;
 
 import java.sql.Timestamp;
-import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.function.Predicate;
 
 public class ItemManagerImpl implements ItemManagerAPI {
     
+    private static final byte EXPIRE_LORE = 1;
+    private static final byte ATTRIBUTION_LORE = 2;
+    
     private final Plugin plugin;
+    private final OwnerNameCache ownerNameCache;
+    private final TaggedMaterialFilter materialFilter;
     private final NamespacedKey EXPIRE_TIME_KEY;
     private final NamespacedKey ATTRIBUTION_KEY;
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    private final NamespacedKey LEGACY_ATTRIBUTION_KEY;
+    private final NamespacedKey LORE_LINES_KEY;
+    private final NamespacedKey OWNER_NAME_PENDING_KEY;
+    private final NamespacedKey ITEM_ID_KEY;
+    private final NestedContentScanner nestedScanner;
+    private final LoreComponentCache loreCache = new LoreComponentCache(4096);
+    private volatile LoreRenderMode loreRenderMode = LoreRenderMode.ITEM;
+    private volatile boolean liveCountdown;
+    private volatile ItemRegistry itemRegistry;
     
-    public ItemManagerImpl(@NotNull Plugin plugin) {
+    public ItemManagerImpl(@NotNull Plugin plugin, @NotNull OwnerNameCache ownerNameCache, @NotNull TaggedMaterialFilter materialFilter) {
         this.plugin = plugin;
+        this.ownerNameCache = ownerNameCache;
+        this.materialFilter = materialFilter;
         this.EXPIRE_TIME_KEY = new NamespacedKey(plugin, "expire_time");
-        this.ATTRIBUTION_KEY = new NamespacedKey(plugin, "attribution_uuid");
+        this.ATTRIBUTION_KEY = new NamespacedKey(plugin, "attribution_v2");
+        this.LEGACY_ATTRIBUTION_KEY = new NamespacedKey(plugin, "attribution_uuid");
+        this.LORE_LINES_KEY = new NamespacedKey(plugin, "lore_lines");
+        this.OWNER_NAME_PENDING_KEY = new NamespacedKey(plugin, "owner_name_pending");
+        this.ITEM_ID_KEY = new NamespacedKey(plugin, "item_id");
+        this.nestedScanner = new NestedContentScanner(this, new NamespacedKey(plugin, "nested_expiry"));
     }
     
     @Override
     public boolean isExpireItem(@NotNull ItemStack itemStack) {
         if (!itemStack.hasItemMeta()) return false;
         
-        ItemMeta meta = itemStack.getItemMeta();
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        return container.has(EXPIRE_TIME_KEY, PersistentDataType.LONG);
+        return itemStack.getPersistentDataContainer().has(EXPIRE_TIME_KEY, PersistentDataType.LONG);
     }
     
     @Override
     @NotNull
     public ItemStack setExpireTime(@NotNull ItemStack itemStack, @NotNull Timestamp expireTime) {
+        ItemStack result = itemStack.clone();
+        setExpireTimeInPlace(result, expireTime);
+        return result;
+    }
+    
+    @Override
+    public boolean setExpireTimeInPlace(@NotNull ItemStack itemStack, @NotNull Timestamp expireTime) {
         if (itemStack.getType() == org.bukkit.Material.AIR) {
             throw new wiki.creeper.itemManager.exception.ItemManagerException.InvalidItemException("Cannot set expire time on AIR");
         }
@@ -50,17 +86,12 @@ public class ItemManagerImpl implements ItemManagerAPI {
             throw new wiki.creeper.itemManager.exception.ItemManagerException.InvalidTimeException("Expire time must be in the future");
         }
         
-        ItemStack result = itemStack.clone();
-        ItemMeta meta = result.hasItemMeta() ? result.getItemMeta() : plugin.getServer().getItemFactory().getItemMeta(result.getType());
-        if (meta == null) return result;
-        
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        container.set(EXPIRE_TIME_KEY, PersistentDataType.LONG, expireTime.getTime());
-        
-        updateExpireLore(meta, expireTime);
-        
-        result.setItemMeta(meta);
-        return result;
+        materialFilter.recordTagged(itemStack.getType());
+        return itemStack.editMeta(meta -> {
+            meta.getPersistentDataContainer().set(EXPIRE_TIME_KEY, PersistentDataType.LONG, expireTime.getTime());
+            updateExpireLore(meta, expireTime);
+            syncRegistry(meta.getPersistentDataContainer());
+        });
     }
     
     @Override
@@ -68,51 +99,120 @@ public class ItemManagerImpl implements ItemManagerAPI {
     public Timestamp getExpireTime(@NotNull ItemStack itemStack) {
         if (!itemStack.hasItemMeta()) return null;
         
-        ItemMeta meta = itemStack.getItemMeta();
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        
-        Long expireTimeMillis = container.get(EXPIRE_TIME_KEY, PersistentDataType.LONG);
+        Long expireTimeMillis = itemStack.getPersistentDataContainer().get(EXPIRE_TIME_KEY, PersistentDataType.LONG);
         return expireTimeMillis != null ? new Timestamp(expireTimeMillis) : null;
     }
     
     @Override
     public boolean isAttribution(@NotNull ItemStack itemStack) {
-        if (!itemStack.hasItemMeta()) return false;
-        
-        ItemMeta meta = itemStack.getItemMeta();
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        return container.has(ATTRIBUTION_KEY, PersistentDataType.STRING);
+        return readState(itemStack).hasAttribution();
     }
     
     @Override
     @NotNull
     public ItemStack setAttribution(@NotNull ItemStack itemStack, @NotNull UUID playerUUID) {
+        ItemStack result = itemStack.clone();
+        setAttributionInPlace(result, playerUUID);
+        return result;
+    }
+    
+    @Override
+    public boolean setAttributionInPlace(@NotNull ItemStack itemStack, @NotNull UUID playerUUID) {
         if (itemStack.getType() == org.bukkit.Material.AIR) {
             throw new wiki.creeper.itemManager.exception.ItemManagerException.InvalidItemException("Cannot set attribution on AIR");
         }
         
-        ItemStack result = itemStack.clone();
-        ItemMeta meta = result.hasItemMeta() ? result.getItemMeta() : plugin.getServer().getItemFactory().getItemMeta(result.getType());
-        if (meta == null) return result;
+        String playerName = getOwnerName(playerUUID);
+        materialFilter.recordTagged(itemStack.getType());
+        return itemStack.editMeta(meta -> {
+            PersistentDataContainer container = meta.getPersistentDataContainer();
+            container.set(ATTRIBUTION_KEY, PersistentDataType.LONG_ARRAY, encodeOwner(playerUUID));
+            container.remove(LEGACY_ATTRIBUTION_KEY);
+            
+            updateAttributionLore(meta, playerUUID, playerName);
+            syncRegistry(container);
+        });
+    }
+    
+    @Override
+    @Nullable
+    public UUID getAttribution(@NotNull ItemStack itemStack) {
+        return readState(itemStack).getOwner();
+    }
+    
+    @Override
+    public boolean isExpired(@NotNull ItemStack itemStack) {
+        return readState(itemStack).isExpired();
+    }
+    
+    @Override
+    @NotNull
+    public ItemState readState(@NotNull ItemStack itemStack) {
+        if (!itemStack.hasItemMeta()) return ItemState.EMPTY;
         
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        container.set(ATTRIBUTION_KEY, PersistentDataType.STRING, playerUUID.toString());
+        PersistentDataContainerView container = itemStack.getPersistentDataContainer();
+        if (container.isEmpty()) return ItemState.EMPTY;
         
-        updateAttributionLore(meta, playerUUID);
+        Long expireTimeMillis = container.get(EXPIRE_TIME_KEY, PersistentDataType.LONG);
+        boolean hasExpireTime = expireTimeMillis != null;
+        long expireTime = hasExpireTime ? expireTimeMillis : 0L;
         
-        result.setItemMeta(meta);
-        return result;
+        long[] owner = container.get(ATTRIBUTION_KEY, PersistentDataType.LONG_ARRAY);
+        if (owner != null && owner.length == 2) {
+            materialFilter.record(itemStack.getType());
+            return new ItemState(hasExpireTime, expireTime, true, owner[0], owner[1]);
+        }
+        
+        UUID legacyOwner = readLegacyOwner(container);
+        if (legacyOwner != null) {
+            materialFilter.record(itemStack.getType());
+            return new ItemState(hasExpireTime, expireTime, true, legacyOwner.getMostSignificantBits(), legacyOwner.getLeastSignificantBits());
+        }
+        
+        if (!hasExpireTime) return ItemState.EMPTY;
+        
+        materialFilter.record(itemStack.getType());
+        return new ItemState(true, expireTime, false, 0L, 0L);
     }
     
     @Override
-    @Nullable
-    public UUID getAttribution(@NotNull ItemStack itemStack) {
-        if (!itemStack.hasItemMeta()) return null;
+    public boolean migrateLegacyAttribution(@NotNull ItemStack itemStack) {
+        if (!itemStack.hasItemMeta()) return false;
         
-        ItemMeta meta = itemStack.getItemMeta();
-        PersistentDataContainer container = meta.getPersistentDataContainer();
+        PersistentDataContainerView view = itemStack.getPersistentDataContainer();
+        if (!view.has(LEGACY_ATTRIBUTION_KEY, PersistentDataType.STRING)) return false;
+        
+        UUID legacyOwner = readLegacyOwner(view);
+        if (legacyOwner == null) return false;
+        
+        return itemStack.editMeta(meta -> {
+            PersistentDataContainer container = meta.getPersistentDataContainer();
+            if (!container.has(ATTRIBUTION_KEY, PersistentDataType.LONG_ARRAY)) {
+                container.set(ATTRIBUTION_KEY, PersistentDataType.LONG_ARRAY, encodeOwner(legacyOwner));
+            }
+            container.remove(LEGACY_ATTRIBUTION_KEY);
+            syncRegistry(container);
+        });
+    }
+    
+    @Override
+    public boolean refreshOwnerNameInPlace(@NotNull ItemStack itemStack) {
+        if (!itemStack.hasItemMeta() || !itemStack.getPersistentDataContainer().has(OWNER_NAME_PENDING_KEY, PersistentDataType.BYTE)) return false;
+        
+        UUID owner = readState(itemStack).getOwner();
+        if (owner == null) {
+            return itemStack.editMeta(meta -> meta.getPersistentDataContainer().remove(OWNER_NAME_PENDING_KEY));
+        }
         
-        String uuidString = container.get(ATTRIBUTION_KEY, PersistentDataType.STRING);
+        String ownerName = getOwnerName(owner);
+        if (ownerName.equals(owner.toString())) return false;
+        
+        return itemStack.editMeta(meta -> updateAttributionLore(meta, owner, ownerName));
+    }
+    
+    @Nullable
+    private UUID readLegacyOwner(@NotNull PersistentDataContainerView container) {
+        String uuidString = container.get(LEGACY_ATTRIBUTION_KEY, PersistentDataType.STRING);
         if (uuidString == null) return null;
         
         try {
@@ -122,12 +222,8 @@ public class ItemManagerImpl implements ItemManagerAPI {
         }
     }
     
-    @Override
-    public boolean isExpired(@NotNull ItemStack itemStack) {
-        Timestamp expireTime = getExpireTime(itemStack);
-        if (expireTime == null) return false;
-        
-        return System.currentTimeMillis() > expireTime.getTime();
+    private long[] encodeOwner(@NotNull UUID playerUUID) {
+        return new long[]{playerUUID.getMostSignificantBits(), playerUUID.getLeastSignificantBits()};
     }
     
     @Override
@@ -136,107 +232,238 @@ public class ItemManagerImpl implements ItemManagerAPI {
         if (!isExpireItem(itemStack)) return itemStack;
         
         ItemStack result = itemStack.clone();
-        ItemMeta meta = result.getItemMeta();
-        
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        container.remove(EXPIRE_TIME_KEY);
-        
-        removeExpireLore(meta);
-        
-        result.setItemMeta(meta);
+        removeExpireTimeInPlace(result);
         return result;
     }
     
+    @Override
+    public boolean removeExpireTimeInPlace(@NotNull ItemStack itemStack) {
+        if (!isExpireItem(itemStack)) return false;
+        
+        return itemStack.editMeta(meta -> {
+            meta.getPersistentDataContainer().remove(EXPIRE_TIME_KEY);
+            removeExpireLore(meta);
+            syncRegistry(meta.getPersistentDataContainer());
+        });
+    }
+    
     @Override
     @NotNull
     public ItemStack removeAttribution(@NotNull ItemStack itemStack) {
         if (!isAttribution(itemStack)) return itemStack;
         
         ItemStack result = itemStack.clone();
-        ItemMeta meta = result.getItemMeta();
-        
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        container.remove(ATTRIBUTION_KEY);
-        
-        removeAttributionLore(meta);
-        
-        result.setItemMeta(meta);
+        removeAttributionInPlace(result);
         return result;
     }
     
+    @Override
+    public boolean removeAttributionInPlace(@NotNull ItemStack itemStack) {
+        if (!isAttribution(itemStack)) return false;
+        
+        return itemStack.editMeta(meta -> {
+            PersistentDataContainer container = meta.getPersistentDataContainer();
+            container.remove(ATTRIBUTION_KEY);
+            container.remove(LEGACY_ATTRIBUTION_KEY);
+            
+            removeAttributionLore(meta);
+            syncRegistry(container);
+        });
+    }
+    
     @Override
     public boolean canUse(@NotNull ItemStack itemStack, @NotNull UUID playerUUID) {
-        if (isExpired(itemStack)) return false;
+        return evaluate(itemStack, playerUUID) instanceof Verdict.Allowed;
+    }
+    
+    @Override
+    @NotNull
+    public Verdict evaluate(@Nullable ItemStack itemStack, @NotNull UUID playerUUID) {
+        if (itemStack == null || itemStack.getType().isAir()) return Verdict.Allowed.UNTRACKED;
+        if (!materialFilter.mightBeTagged(itemStack.getType()) || !itemStack.hasItemMeta()) return Verdict.Allowed.UNTRACKED;
         
-        UUID attribution = getAttribution(itemStack);
-        if (attribution == null) return true;
+        return Verdict.of(readState(itemStack), playerUUID, System.currentTimeMillis());
+    }
+    
+    @Override
+    @NotNull
+    public String getOwnerName(@NotNull UUID playerUUID) {
+        return ownerNameCache.resolve(playerUUID);
+    }
+    
+    @Override
+    @NotNull
+    public LoreRenderMode getLoreRenderMode() {
+        return loreRenderMode;
+    }
+    
+    public void setLoreRenderMode(@NotNull LoreRenderMode loreRenderMode) {
+        this.loreRenderMode = loreRenderMode;
+    }
+    
+    public boolean isLiveCountdown() {
+        return liveCountdown;
+    }
+    
+    public void setLiveCountdown(boolean liveCountdown) {
+        this.liveCountdown = liveCountdown;
+    }
+    
+    @NotNull
+    public ItemStack renderLore(@NotNull ItemStack itemStack) {
+        ItemState state = readState(itemStack);
+        if (!state.isTracked()) return itemStack;
+        
+        String ownerName = state.hasAttribution() ? getOwnerName(state.getOwner()) : null;
+        ItemStack rendered = itemStack.clone();
+        rendered.editMeta(meta -> {
+            if (state.hasExpireTime()) {
+                writeLoreLine(meta, EXPIRE_LORE, liveCountdown ? remainingLine(state.expireTime()) : loreCache.expireLine(state.expireTime()));
+            }
+            if (ownerName != null) {
+                writeLoreLine(meta, ATTRIBUTION_LORE, loreCache.attributionLine(ownerName));
+            }
+        });
+        return rendered;
+    }
+    
+    @NotNull
+    private Component remainingLine(long expireTime) {
+        long remaining = expireTime - System.currentTimeMillis();
+        return loreCache.remainingLine(TimeUtil.formatRemainingTime(remaining, TimeUtil.countdownPrecision(remaining)));
+    }
+    
+    @NotNull
+    public ItemStack stripRenderedLore(@NotNull ItemStack itemStack) {
+        if (!itemStack.hasItemMeta() || !itemStack.getPersistentDataContainer().has(LORE_LINES_KEY, PersistentDataType.BYTE)) return itemStack;
         
-        return attribution.equals(playerUUID);
+        ItemStack stripped = itemStack.clone();
+        stripped.editMeta(meta -> {
+            writeLoreLine(meta, EXPIRE_LORE, null);
+            writeLoreLine(meta, ATTRIBUTION_LORE, null);
+        });
+        return stripped;
     }
     
     private void updateExpireLore(@NotNull ItemMeta meta, @NotNull Timestamp expireTime) {
-        List<Component> lore = meta.hasLore() ? new ArrayList<>(meta.lore()) : new ArrayList<>();
-        
-        removeExpireLore(meta);
-        
-        Component expireComponent = Component.text()
-                .append(Component.text("⏱ 만료시간: ", NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false))
-                .append(Component.text(dateFormat.format(expireTime), NamedTextColor.YELLOW).decoration(TextDecoration.ITALIC, false))
-                .build();
-        
-        lore.add(0, expireComponent);
-        meta.lore(lore);
+        writeLoreLine(meta, EXPIRE_LORE, loreRenderMode == LoreRenderMode.ITEM ? loreCache.expireLine(expireTime.getTime()) : null);
     }
     
-    private void updateAttributionLore(@NotNull ItemMeta meta, @NotNull UUID playerUUID) {
-        List<Component> lore = meta.hasLore() ? new ArrayList<>(meta.lore()) : new ArrayList<>();
-        
-        removeAttributionLore(meta);
-        
-        String playerName = plugin.getServer().getOfflinePlayer(playerUUID).getName();
-        playerName = playerName != null ? playerName : playerUUID.toString();
-        
-        Component attributionComponent = Component.text()
-                .append(Component.text("🔒 귀속: ", NamedTextColor.RED).decoration(TextDecoration.ITALIC, false))
-                .append(Component.text(playerName, NamedTextColor.GOLD).decoration(TextDecoration.ITALIC, false))
-                .build();
+    private void updateAttributionLore(@NotNull ItemMeta meta, @NotNull UUID playerUUID, @NotNull String playerName) {
+        boolean itemLore = loreRenderMode == LoreRenderMode.ITEM;
+        writeLoreLine(meta, ATTRIBUTION_LORE, itemLore ? loreCache.attributionLine(playerName) : null);
         
-        int insertIndex = hasExpireLore(lore) ? 1 : 0;
-        lore.add(insertIndex, attributionComponent);
-        meta.lore(lore);
+        PersistentDataContainer container = meta.getPersistentDataContainer();
+        if (itemLore && playerName.equals(playerUUID.toString())) {
+            container.set(OWNER_NAME_PENDING_KEY, PersistentDataType.BYTE, (byte) 1);
+        } else {
+            container.remove(OWNER_NAME_PENDING_KEY);
+        }
     }
     
     private void removeExpireLore(@NotNull ItemMeta meta) {
-        if (!meta.hasLore()) return;
-        
-        List<Component> lore = new ArrayList<>(meta.lore());
-        lore.removeIf(component -> {
-            String plainText = component.toString();
-            return plainText.contains("⏱ 만료시간:");
-        });
+        writeLoreLine(meta, EXPIRE_LORE, null);
+    }
+    
+    private void removeAttributionLore(@NotNull ItemMeta meta) {
+        writeLoreLine(meta, ATTRIBUTION_LORE, null);
+        meta.getPersistentDataContainer().remove(OWNER_NAME_PENDING_KEY);
+    }
+    
+    private void writeLoreLine(@NotNull ItemMeta meta, byte line, @Nullable Component component) {
+        PersistentDataContainer container = meta.getPersistentDataContainer();
+        List<Component> lore = meta.hasLore() ? new ArrayList<>(meta.lore()) : new ArrayList<>();
+        byte lines = readLoreLines(container, lore);
+        
+        int index = loreIndex(lines, line);
+        if ((lines & line) != 0) {
+            if (component != null) {
+                lore.set(index, component);
+            } else {
+                lore.remove(index);
+            }
+        } else if (component != null) {
+            lore.add(index, component);
+        }
         
+        lines = (byte) (component != null ? lines | line : lines & ~line);
         meta.lore(lore.isEmpty() ? null : lore);
+        if (lines == 0) {
+            container.remove(LORE_LINES_KEY);
+        } else {
+            container.set(LORE_LINES_KEY, PersistentDataType.BYTE, lines);
+        }
     }
     
-    private void removeAttributionLore(@NotNull ItemMeta meta) {
-        if (!meta.hasLore()) return;
+    private byte readLoreLines(@NotNull PersistentDataContainer container, @NotNull List<Component> lore) {
+        Byte stored = container.get(LORE_LINES_KEY, PersistentDataType.BYTE);
+        if (stored != null) {
+            byte lines = stored;
+            if ((lines & EXPIRE_LORE) != 0 && !isLoreLineAt(lore, loreIndex(lines, EXPIRE_LORE), EXPIRE_LORE)) {
+                lines &= ~EXPIRE_LORE;
+            }
+            if ((lines & ATTRIBUTION_LORE) != 0 && !isLoreLineAt(lore, loreIndex(lines, ATTRIBUTION_LORE), ATTRIBUTION_LORE)) {
+                lines &= ~ATTRIBUTION_LORE;
+            }
+            return lines;
+        }
         
-        List<Component> lore = new ArrayList<>(meta.lore());
-        lore.removeIf(component -> {
-            String plainText = component.toString();
-            return plainText.contains("🔒 귀속:");
-        });
+        if (lore.isEmpty()) return 0;
         
-        meta.lore(lore.isEmpty() ? null : lore);
+        Component expireLine = null;
+        Component attributionLine = null;
+        Iterator<Component> iterator = lore.iterator();
+        while (iterator.hasNext()) {
+            Component component = iterator.next();
+            if (LoreComponentCache.isExpireLine(component)) {
+                if (expireLine == null) {
+                    expireLine = component;
+                }
+                iterator.remove();
+            } else if (LoreComponentCache.isAttributionLine(component)) {
+                if (attributionLine == null) {
+                    attributionLine = component;
+                }
+                iterator.remove();
+            }
+        }
+        
+        byte lines = 0;
+        if (attributionLine != null) {
+            lore.add(0, attributionLine);
+            lines |= ATTRIBUTION_LORE;
+        }
+        if (expireLine != null) {
+            lore.add(0, expireLine);
+            lines |= EXPIRE_LORE;
+        }
+        return lines;
+    }
+    
+    private boolean isLoreLineAt(@NotNull List<Component> lore, int index, byte line) {
+        if (index >= lore.size()) return false;
+        
+        Component component = lore.get(index);
+        return line == EXPIRE_LORE ? LoreComponentCache.isExpireLine(component) : LoreComponentCache.isAttributionLine(component);
     }
     
-    private boolean hasExpireLore(@NotNull List<Component> lore) {
-        return lore.stream().anyMatch(component -> component.toString().contains("⏱ 만료시간:"));
+    private int loreIndex(byte lines, byte line) {
+        return line == ATTRIBUTION_LORE && (lines & EXPIRE_LORE) != 0 ? 1 : 0;
     }
     
     @Override
     @NotNull
     public ItemStack extendExpireTime(@NotNull ItemStack itemStack, long additionalMillis) {
+        return setExpireTime(itemStack, extendedExpireTime(itemStack, additionalMillis));
+    }
+    
+    @Override
+    public boolean extendExpireTimeInPlace(@NotNull ItemStack itemStack, long additionalMillis) {
+        return setExpireTimeInPlace(itemStack, extendedExpireTime(itemStack, additionalMillis));
+    }
+    
+    @NotNull
+    private Timestamp extendedExpireTime(@NotNull ItemStack itemStack, long additionalMillis) {
         if (!isExpireItem(itemStack)) {
             throw new wiki.creeper.itemManager.exception.ItemManagerException.InvalidItemException("Item does not have expire time");
         }
@@ -246,21 +473,17 @@ public class ItemManagerImpl implements ItemManagerAPI {
             throw new wiki.creeper.itemManager.exception.ItemManagerException.InvalidTimeException("Cannot get current expire time");
         }
         
-        Timestamp newExpireTime = new Timestamp(currentExpireTime.getTime() + additionalMillis);
-        return setExpireTime(itemStack, newExpireTime);
+        return new Timestamp(currentExpireTime.getTime() + additionalMillis);
     }
     
     @Override
     public boolean hasConflictingNBT(@NotNull ItemStack itemStack) {
         if (!itemStack.hasItemMeta()) return false;
         
-        ItemMeta meta = itemStack.getItemMeta();
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        
-        Set<NamespacedKey> keys = container.getKeys();
+        Set<NamespacedKey> keys = itemStack.getPersistentDataContainer().getKeys();
         for (NamespacedKey key : keys) {
             if (!key.getNamespace().equals(plugin.getName().toLowerCase())) {
-                if (key.getKey().contains("expire") || key.getKey().contains("attribution") || 
+                if (key.getKey().contains("expire") || key.getKey().contains("attribution") ||
                     key.getKey().contains("owner") || key.getKey().contains("bound")) {
                     return true;
                 }
@@ -274,12 +497,12 @@ public class ItemManagerImpl implements ItemManagerAPI {
     @NotNull
     public ItemStack copyWithAttribution(@NotNull ItemStack itemStack, @NotNull UUID newOwner) {
         ItemStack copy = itemStack.clone();
-        
-        if (isAttribution(copy)) {
-            copy = removeAttribution(copy);
+        if (getItemId(copy) != -1) {
+            copy.editMeta(meta -> meta.getPersistentDataContainer().remove(ITEM_ID_KEY));
         }
-        
-        return setAttribution(copy, newOwner);
+        removeAttributionInPlace(copy);
+        setAttributionInPlace(copy, newOwner);
+        return copy;
     }
     
     @Override
@@ -299,12 +522,10 @@ public class ItemManagerImpl implements ItemManagerAPI {
     
     @Override
     public long getRemainingTime(@NotNull ItemStack itemStack) {
-        if (!isExpireItem(itemStack)) return -1;
-        
-        Timestamp expireTime = getExpireTime(itemStack);
-        if (expireTime == null) return -1;
+        ItemState state = readState(itemStack);
+        if (!state.hasExpireTime()) return -1;
         
-        long remaining = expireTime.getTime() - System.currentTimeMillis();
+        long remaining = state.expireTime() - System.currentTimeMillis();
         return Math.max(0, remaining);
     }
     
@@ -313,58 +534,237 @@ public class ItemManagerImpl implements ItemManagerAPI {
     public ItemStack refreshExpireLore(@NotNull ItemStack itemStack) {
         if (!isExpireItem(itemStack)) return itemStack;
         
-        Timestamp expireTime = getExpireTime(itemStack);
-        if (expireTime == null) return itemStack;
-        
         ItemStack result = itemStack.clone();
-        ItemMeta meta = result.getItemMeta();
-        
-        updateExpireLore(meta, expireTime);
-        result.setItemMeta(meta);
-        
+        refreshExpireLoreInPlace(result);
         return result;
     }
     
+    @Override
+    public boolean refreshExpireLoreInPlace(@NotNull ItemStack itemStack) {
+        Timestamp expireTime = getExpireTime(itemStack);
+        if (expireTime == null) return false;
+        
+        return itemStack.editMeta(meta -> updateExpireLore(meta, expireTime));
+    }
+    
+    @Override
+    @NotNull
+    public ItemEditor edit(@NotNull ItemStack itemStack) {
+        return new ItemEditor(this, itemStack);
+    }
+    
     @Override
     public boolean compareAttributions(@NotNull ItemStack item1, @NotNull ItemStack item2) {
-        UUID attr1 = getAttribution(item1);
-        UUID attr2 = getAttribution(item2);
+        ItemState state1 = readState(item1);
+        ItemState state2 = readState(item2);
         
-        if (attr1 == null && attr2 == null) return true;
-        if (attr1 == null || attr2 == null) return false;
+        if (!state1.hasAttribution() && !state2.hasAttribution()) return true;
+        if (!state1.hasAttribution() || !state2.hasAttribution()) return false;
         
-        return attr1.equals(attr2);
+        return state1.ownerMostBits() == state2.ownerMostBits() && state1.ownerLeastBits() == state2.ownerLeastBits();
     }
     
     @Override
     @NotNull
     public List<ItemStack> removeAllExpiredItems(@NotNull org.bukkit.inventory.Inventory inventory) {
         List<ItemStack> removedItems = new ArrayList<>();
+        long now = System.currentTimeMillis();
         
         for (int i = 0; i < inventory.getSize(); i++) {
             ItemStack item = inventory.getItem(i);
-            if (item != null && isExpired(item)) {
+            if (item == null) continue;
+            
+            if (readState(item).isExpired(now)) {
                 removedItems.add(item.clone());
                 inventory.setItem(i, null);
+                continue;
+            }
+            
+            List<ItemStack> nested = nestedScanner.removeExpired(item, now, expired -> true);
+            if (!nested.isEmpty()) {
+                removedItems.addAll(nested);
+                inventory.setItem(i, item);
             }
         }
         
         return removedItems;
     }
     
+    @Override
+    public boolean isContainerItem(@NotNull ItemStack itemStack) {
+        return NestedContentScanner.isContainerItem(itemStack);
+    }
+    
+    @Override
+    public long getNestedExpiry(@NotNull ItemStack itemStack) {
+        return nestedScanner.earliestExpiry(itemStack);
+    }
+    
+    @Override
+    @NotNull
+    public List<ItemStack> removeExpiredNestedItems(@NotNull ItemStack itemStack) {
+        return removeExpiredNestedItems(itemStack, expired -> true);
+    }
+    
+    @Override
+    @NotNull
+    public List<ItemStack> removeExpiredNestedItems(@NotNull ItemStack itemStack, @NotNull Predicate<ItemStack> filter) {
+        return nestedScanner.removeExpired(itemStack, System.currentTimeMillis(), filter);
+    }
+    
+    @Override
+    public boolean invalidateNestedExpiry(@NotNull ItemStack itemStack) {
+        return nestedScanner.invalidate(itemStack);
+    }
+    
+    @Override
+    public boolean invalidateNestedExpiry(@NotNull TileState tileState) {
+        return nestedScanner.invalidate(tileState);
+    }
+    
+    @Override
+    public boolean cacheNestedExpiry(@NotNull ItemStack itemStack) {
+        return nestedScanner.cache(itemStack);
+    }
+    
     @Override
     public int countAttributedItems(@NotNull org.bukkit.inventory.Inventory inventory, @NotNull UUID playerUUID) {
         int count = 0;
         
         for (ItemStack item : inventory.getContents()) {
-            if (item != null && isAttribution(item)) {
-                UUID attribution = getAttribution(item);
-                if (attribution != null && attribution.equals(playerUUID)) {
-                    count += item.getAmount();
-                }
+            if (item != null && readState(item).isOwner(playerUUID)) {
+                count += item.getAmount();
             }
         }
         
         return count;
     }
+    
+    @Override
+    @NotNull
+    public List<ItemStack> applyBatch(@NotNull Collection<ItemStack> itemStacks, @NotNull ItemMutation mutation) {
+        validateBatch(itemStacks, mutation);
+        
+        List<ItemStack> results = new ArrayList<>(itemStacks.size());
+        String ownerName = mutation.getOwner() != null ? getOwnerName(mutation.getOwner()) : null;
+        
+        for (ItemStack itemStack : itemStacks) {
+            ItemStack result = itemStack.clone();
+            if (!mutation.isEmpty()) {
+                recordTagged(result, mutation);
+                result.editMeta(meta -> applyMutation(meta, mutation, ownerName));
+            }
+            results.add(result);
+        }
+        
+        return results;
+    }
+    
+    @Override
+    public int applyBatchInPlace(@NotNull Collection<ItemStack> itemStacks, @NotNull ItemMutation mutation) {
+        validateBatch(itemStacks, mutation);
+        if (mutation.isEmpty()) return 0;
+        
+        String ownerName = mutation.getOwner() != null ? getOwnerName(mutation.getOwner()) : null;
+        int mutated = 0;
+        
+        for (ItemStack itemStack : itemStacks) {
+            recordTagged(itemStack, mutation);
+            if (itemStack.editMeta(meta -> applyMutation(meta, mutation, ownerName))) {
+                mutated++;
+            }
+        }
+        
+        return mutated;
+    }
+    
+    private void recordTagged(@NotNull ItemStack itemStack, @NotNull ItemMutation mutation) {
+        if (mutation.getExpireTime() != null || mutation.getOwner() != null) {
+            materialFilter.recordTagged(itemStack.getType());
+        }
+    }
+    
+    private void validateBatch(@NotNull Collection<ItemStack> itemStacks, @NotNull ItemMutation mutation) {
+        Timestamp expireTime = mutation.getExpireTime();
+        if (expireTime != null && expireTime.getTime() <= System.currentTimeMillis()) {
+            throw new wiki.creeper.itemManager.exception.ItemManagerException.InvalidTimeException("Expire time must be in the future");
+        }
+        
+        for (ItemStack itemStack : itemStacks) {
+            if (itemStack.getType() == org.bukkit.Material.AIR) {
+                throw new wiki.creeper.itemManager.exception.ItemManagerException.InvalidItemException("Cannot apply batch mutation to AIR");
+            }
+        }
+    }
+    
+    private void applyMutation(@NotNull ItemMeta meta, @NotNull ItemMutation mutation, @Nullable String ownerName) {
+        PersistentDataContainer container = meta.getPersistentDataContainer();
+        
+        if (mutation.isRemoveExpireTime()) {
+            container.remove(EXPIRE_TIME_KEY);
+            removeExpireLore(meta);
+        } else if (mutation.getExpireTime() != null) {
+            container.set(EXPIRE_TIME_KEY, PersistentDataType.LONG, mutation.getExpireTime().getTime());
+            updateExpireLore(meta, mutation.getExpireTime());
+        }
+        
+        if (mutation.isRemoveAttribution()) {
+            container.remove(ATTRIBUTION_KEY);
+            container.remove(LEGACY_ATTRIBUTION_KEY);
+            removeAttributionLore(meta);
+        } else if (mutation.getOwner() != null && ownerName != null) {
+            container.set(ATTRIBUTION_KEY, PersistentDataType.LONG_ARRAY, encodeOwner(mutation.getOwner()));
+            container.remove(LEGACY_ATTRIBUTION_KEY);
+            updateAttributionLore(meta, mutation.getOwner(), ownerName);
+        }
+        
+        syncRegistry(container);
+    }
+    
+    private void syncRegistry(@NotNull PersistentDataContainer container) {
+        ItemRegistry registry = itemRegistry;
+        if (registry == null) return;
+        
+        Long expireTime = container.get(EXPIRE_TIME_KEY, PersistentDataType.LONG);
+        long[] owner = container.get(ATTRIBUTION_KEY, PersistentDataType.LONG_ARRAY);
+        
+        if (expireTime == null && owner == null) {
+            container.remove(ITEM_ID_KEY);
+            return;
+        }
+        
+        long expiry = expireTime != null ? expireTime : Long.MAX_VALUE;
+        UUID ownerUUID = owner != null && owner.length == 2 ? new UUID(owner[0], owner[1]) : null;
+        long itemId = contentId(expiry, ownerUUID);
+        container.set(ITEM_ID_KEY, PersistentDataType.LONG, itemId);
+        registry.put(new ItemRecord(itemId, expiry, ownerUUID));
+    }
+    
+    private static long contentId(long expireTime, @Nullable UUID owner) {
+        long hash = expireTime;
+        if (owner != null) {
+            hash = hash * 31 + owner.getMostSignificantBits();
+            hash = hash * 31 + owner.getLeastSignificantBits();
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return (hash ^ (hash >>> 31)) & Long.MAX_VALUE;
+    }
+    
+    @Override
+    public long getItemId(@NotNull ItemStack itemStack) {
+        if (!itemStack.hasItemMeta()) return -1;
+        
+        Long itemId = itemStack.getPersistentDataContainer().get(ITEM_ID_KEY, PersistentDataType.LONG);
+        return itemId != null ? itemId : -1;
+    }
+    
+    @Nullable
+    public ItemRegistry getItemRegistry() {
+        return itemRegistry;
+    }
+    
+    public void setItemRegistry(@Nullable ItemRegistry itemRegistry) {
+        this.itemRegistry = itemRegistry;
+    }
 }
\ No newline at end of file
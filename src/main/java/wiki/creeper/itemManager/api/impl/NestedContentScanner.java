@@ -0,0 +1,198 @@
+package wiki.creeper.itemManager.api.impl;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.block.Container;
+import org.bukkit.block.TileState;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.BlockStateMeta;
+import org.bukkit.inventory.meta.BundleMeta;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import wiki.creeper.itemManager.api.ItemState;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+final class NestedContentScanner {
+    
+    private static final long NONE = Long.MAX_VALUE;
+    private static final int MAX_DEPTH = 4;
+    private static final Set<Material> CONTAINER_ITEMS = EnumSet.noneOf(Material.class);
+    
+    static {
+        for (Material material : Material.values()) {
+            String name = material.name();
+            if (name.endsWith("SHULKER_BOX") || name.endsWith("BUNDLE")) {
+                CONTAINER_ITEMS.add(material);
+            }
+        }
+    }
+    
+    private final ItemManagerImpl api;
+    private final NamespacedKey nestedExpiryKey;
+    
+    NestedContentScanner(@NotNull ItemManagerImpl api, @NotNull NamespacedKey nestedExpiryKey) {
+        this.api = api;
+        this.nestedExpiryKey = nestedExpiryKey;
+    }
+    
+    static boolean isContainerItem(@NotNull ItemStack itemStack) {
+        return CONTAINER_ITEMS.contains(itemStack.getType());
+    }
+    
+    long earliestExpiry(@NotNull ItemStack itemStack) {
+        if (!isContainerItem(itemStack)) return NONE;
+        
+        Long cached = readCached(itemStack);
+        return cached != null ? cached : computeEarliest(itemStack, 0);
+    }
+    
+    boolean cache(@NotNull ItemStack itemStack) {
+        if (!isContainerItem(itemStack) || readCached(itemStack) != null) return false;
+        
+        List<ItemStack> contents = contents(itemStack);
+        if (contents.isEmpty()) return false;
+        
+        long earliest = earliestOf(contents, 0);
+        return itemStack.editMeta(meta -> meta.getPersistentDataContainer().set(nestedExpiryKey, PersistentDataType.LONG, earliest));
+    }
+    
+    boolean invalidate(@NotNull ItemStack itemStack) {
+        if (!isContainerItem(itemStack) || readCached(itemStack) == null) return false;
+        
+        return itemStack.editMeta(meta -> meta.getPersistentDataContainer().remove(nestedExpiryKey));
+    }
+    
+    boolean invalidate(@NotNull TileState tileState) {
+        PersistentDataContainer container = tileState.getPersistentDataContainer();
+        if (!container.has(nestedExpiryKey)) return false;
+        
+        container.remove(nestedExpiryKey);
+        return true;
+    }
+    
+    @NotNull
+    List<ItemStack> removeExpired(@NotNull ItemStack itemStack, long now, @NotNull Predicate<ItemStack> filter) {
+        if (earliestExpiry(itemStack) >= now) return List.of();
+        
+        List<ItemStack> removed = new ArrayList<>();
+        removeExpired(itemStack, now, filter, 0, removed);
+        return removed;
+    }
+    
+    private long removeExpired(ItemStack itemStack, long now, Predicate<ItemStack> filter, int depth, List<ItemStack> removed) {
+        ItemMeta meta = itemStack.getItemMeta();
+        long earliest = NONE;
+        boolean empty = true;
+        
+        if (meta instanceof BundleMeta bundle) {
+            List<ItemStack> kept = new ArrayList<>();
+            for (ItemStack nested : bundle.getItems()) {
+                if (expireNested(nested, now, filter, depth, removed)) continue;
+                
+                kept.add(nested);
+                empty = false;
+                earliest = Math.min(earliest, expiryOf(nested, depth + 1));
+            }
+            bundle.setItems(kept);
+        } else if (meta instanceof BlockStateMeta blockStateMeta && blockStateMeta.hasBlockState()
+                && blockStateMeta.getBlockState() instanceof Container container) {
+            Inventory inventory = container.getInventory();
+            for (int i = 0; i < inventory.getSize(); i++) {
+                ItemStack nested = inventory.getItem(i);
+                if (nested == null) continue;
+                
+                if (expireNested(nested, now, filter, depth, removed)) {
+                    inventory.setItem(i, null);
+                    continue;
+                }
+                
+                inventory.setItem(i, nested);
+                empty = false;
+                earliest = Math.min(earliest, expiryOf(nested, depth + 1));
+            }
+            blockStateMeta.setBlockState(container);
+        } else {
+            return NONE;
+        }
+        
+        if (empty) {
+            meta.getPersistentDataContainer().remove(nestedExpiryKey);
+        } else {
+            meta.getPersistentDataContainer().set(nestedExpiryKey, PersistentDataType.LONG, earliest);
+        }
+        itemStack.setItemMeta(meta);
+        return earliest;
+    }
+    
+    private boolean expireNested(ItemStack nested, long now, Predicate<ItemStack> filter, int depth, List<ItemStack> removed) {
+        if (api.readState(nested).isExpired(now) && filter.test(nested)) {
+            removed.add(nested);
+            return true;
+        }
+        
+        if (depth + 1 < MAX_DEPTH && isContainerItem(nested) && nestedEarliest(nested, depth + 1) < now) {
+            removeExpired(nested, now, filter, depth + 1, removed);
+        }
+        return false;
+    }
+    
+    private long expiryOf(ItemStack nested, int depth) {
+        ItemState state = api.readState(nested);
+        long own = state.hasExpireTime() ? state.expireTime() : NONE;
+        return depth < MAX_DEPTH && isContainerItem(nested) ? Math.min(own, nestedEarliest(nested, depth)) : own;
+    }
+    
+    private long nestedEarliest(ItemStack itemStack, int depth) {
+        Long cached = readCached(itemStack);
+        return cached != null ? cached : computeEarliest(itemStack, depth);
+    }
+    
+    private long computeEarliest(ItemStack itemStack, int depth) {
+        return earliestOf(contents(itemStack), depth);
+    }
+    
+    private long earliestOf(List<ItemStack> contents, int depth) {
+        long earliest = NONE;
+        for (ItemStack nested : contents) {
+            earliest = Math.min(earliest, expiryOf(nested, depth + 1));
+        }
+        return earliest;
+    }
+    
+    @NotNull
+    private List<ItemStack> contents(ItemStack itemStack) {
+        ItemMeta meta = itemStack.getItemMeta();
+        if (meta instanceof BundleMeta bundle) {
+            return bundle.hasItems() ? bundle.getItems() : List.of();
+        }
+        
+        if (meta instanceof BlockStateMeta blockStateMeta && blockStateMeta.hasBlockState()
+                && blockStateMeta.getBlockState() instanceof Container container) {
+            List<ItemStack> contents = new ArrayList<>();
+            for (ItemStack nested : container.getInventory().getContents()) {
+                if (nested != null) {
+                    contents.add(nested);
+                }
+            }
+            return contents;
+        }
+        
+        return List.of();
+    }
+    
+    @Nullable
+    private Long readCached(ItemStack itemStack) {
+        if (!itemStack.hasItemMeta()) return null;
+        
+        return itemStack.getPersistentDataContainer().get(nestedExpiryKey, PersistentDataType.LONG);
+    }
+}
\ No newline at end of file
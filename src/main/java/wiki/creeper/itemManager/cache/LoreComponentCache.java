@@ -0,0 +1,85 @@
+package wiki.creeper.itemManager.cache;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.jetbrains.annotations.NotNull;
+import wiki.creeper.itemManager.util.TimeUtil;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LoreComponentCache {
+    
+    public static final String EXPIRE_PREFIX = "⏱ 만료시간: ";
+    public static final String REMAINING_PREFIX = "⏱ 남은시간: ";
+    public static final String ATTRIBUTION_PREFIX = "🔒 귀속: ";
+    private static final long DISPLAY_PRECISION_MILLIS = 1000L;
+    
+    private final Map<Long, Component> expireLines;
+    private final Map<String, Component> remainingLines;
+    private final Map<String, Component> attributionLines;
+    
+    public LoreComponentCache(int maxSize) {
+        this.expireLines = boundedMap(maxSize);
+        this.remainingLines = boundedMap(maxSize);
+        this.attributionLines = boundedMap(maxSize);
+    }
+    
+    @NotNull
+    public Component expireLine(long expireTimeMillis) {
+        long displayKey = Math.floorDiv(expireTimeMillis, DISPLAY_PRECISION_MILLIS);
+        synchronized (expireLines) {
+            return expireLines.computeIfAbsent(displayKey, key -> Component.text()
+                    .append(Component.text(EXPIRE_PREFIX, NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false))
+                    .append(Component.text(TimeUtil.formatTimestamp(new Timestamp(key * DISPLAY_PRECISION_MILLIS)), NamedTextColor.YELLOW)
+                            .decoration(TextDecoration.ITALIC, false))
+                    .build());
+        }
+    }
+    
+    @NotNull
+    public Component remainingLine(@NotNull String remaining) {
+        synchronized (remainingLines) {
+            return remainingLines.computeIfAbsent(remaining, text -> Component.text()
+                    .append(Component.text(REMAINING_PREFIX, NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false))
+                    .append(Component.text(text, NamedTextColor.AQUA).decoration(TextDecoration.ITALIC, false))
+                    .build());
+        }
+    }
+    
+    @NotNull
+    public Component attributionLine(@NotNull String ownerName) {
+        synchronized (attributionLines) {
+            return attributionLines.computeIfAbsent(ownerName, name -> Component.text()
+                    .append(Component.text(ATTRIBUTION_PREFIX, NamedTextColor.RED).decoration(TextDecoration.ITALIC, false))
+                    .append(Component.text(name, NamedTextColor.GOLD).decoration(TextDecoration.ITALIC, false))
+                    .build());
+        }
+    }
+    
+    public static boolean isExpireLine(@NotNull Component component) {
+        return hasPrefix(component, EXPIRE_PREFIX) || hasPrefix(component, REMAINING_PREFIX);
+    }
+    
+    public static boolean isAttributionLine(@NotNull Component component) {
+        return hasPrefix(component, ATTRIBUTION_PREFIX);
+    }
+    
+    private static boolean hasPrefix(Component component, String prefix) {
+        List<Component> children = component.children();
+        return children.size() == 2 && children.get(0) instanceof TextComponent text && text.content().equals(prefix);
+    }
+    
+    private static <K> Map<K, Component> boundedMap(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Component> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+}
\ No newline at end of file
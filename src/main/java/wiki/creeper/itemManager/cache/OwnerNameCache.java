@@ -0,0 +1,107 @@
+package wiki.creeper.itemManager.cache;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class OwnerNameCache {
+    
+    private record Entry(String name, long expiresAt) {
+    }
+    
+    private final Plugin plugin;
+    private final long ttlMillis;
+    private final Map<UUID, Entry> entries;
+    private final Map<UUID, CompletableFuture<String>> pending = new HashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ItemManager-NameLookup");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public OwnerNameCache(@NotNull Plugin plugin, int maxSize, long ttlMillis) {
+        this.plugin = plugin;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+    
+    @NotNull
+    public String resolve(@NotNull UUID playerUUID) {
+        String cached = getIfPresent(playerUUID);
+        if (cached != null) return cached;
+        
+        Player online = plugin.getServer().getPlayer(playerUUID);
+        if (online != null) {
+            put(playerUUID, online.getName());
+            return online.getName();
+        }
+        
+        lookup(playerUUID);
+        return playerUUID.toString();
+    }
+    
+    @NotNull
+    public synchronized CompletableFuture<String> lookup(@NotNull UUID playerUUID) {
+        Entry entry = entries.get(playerUUID);
+        if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+            return CompletableFuture.completedFuture(entry.name());
+        }
+        
+        CompletableFuture<String> inFlight = pending.get(playerUUID);
+        if (inFlight != null) return inFlight;
+        
+        CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> {
+            String name = plugin.getServer().getOfflinePlayer(playerUUID).getName();
+            return name != null ? name : playerUUID.toString();
+        }, executor);
+        pending.put(playerUUID, future);
+        
+        future.whenComplete((name, throwable) -> {
+            synchronized (this) {
+                pending.remove(playerUUID);
+                if (throwable == null) {
+                    entries.put(playerUUID, new Entry(name, System.currentTimeMillis() + ttlMillis));
+                }
+            }
+        });
+        return future;
+    }
+    
+    @Nullable
+    public synchronized String getIfPresent(@NotNull UUID playerUUID) {
+        Entry entry = entries.get(playerUUID);
+        if (entry == null) return null;
+        
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(playerUUID);
+            return null;
+        }
+        return entry.name();
+    }
+    
+    public synchronized void put(@NotNull UUID playerUUID, @NotNull String name) {
+        entries.put(playerUUID, new Entry(name, System.currentTimeMillis() + ttlMillis));
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
\ No newline at end of file
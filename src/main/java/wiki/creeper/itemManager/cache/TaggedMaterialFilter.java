@@ -0,0 +1,116 @@
+package wiki.creeper.itemManager.cache;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+
+public class TaggedMaterialFilter {
+    
+    private static final Material[] MATERIALS = Material.values();
+    
+    private final Plugin plugin;
+    private final File file;
+    private final AtomicLongArray taggedCounts = new AtomicLongArray(MATERIALS.length);
+    private volatile BitSet tagged = new BitSet(MATERIALS.length);
+    private volatile boolean primed;
+    private volatile boolean dirty;
+    
+    public TaggedMaterialFilter(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "tagged-materials.yml");
+    }
+    
+    public boolean mightBeTagged(@NotNull Material material) {
+        return !primed || tagged.get(material.ordinal());
+    }
+    
+    public void record(@NotNull Material material) {
+        if (tagged.get(material.ordinal())) return;
+        
+        synchronized (this) {
+            if (tagged.get(material.ordinal())) return;
+            
+            BitSet updated = (BitSet) tagged.clone();
+            updated.set(material.ordinal());
+            tagged = updated;
+            dirty = true;
+        }
+        
+        if (primed) {
+            CompletableFuture.runAsync(this::save);
+        }
+    }
+    
+    public void recordTagged(@NotNull Material material) {
+        taggedCounts.incrementAndGet(material.ordinal());
+        record(material);
+        dirty = true;
+    }
+    
+    public long getTaggedCount(@NotNull Material material) {
+        return taggedCounts.get(material.ordinal());
+    }
+    
+    public int size() {
+        return tagged.cardinality();
+    }
+    
+    public boolean isPrimed() {
+        return primed;
+    }
+    
+    public void prime() {
+        if (!primed) {
+            primed = true;
+            dirty = true;
+            save();
+        }
+    }
+    
+    public synchronized void load() {
+        if (!file.exists()) return;
+        
+        YamlConfiguration configuration = YamlConfiguration.loadConfiguration(file);
+        ConfigurationSection materials = configuration.getConfigurationSection("materials");
+        BitSet loaded = new BitSet(MATERIALS.length);
+        if (materials != null) {
+            for (String name : materials.getKeys(false)) {
+                Material material = Material.matchMaterial(name);
+                if (material == null) continue;
+                
+                loaded.set(material.ordinal());
+                taggedCounts.set(material.ordinal(), materials.getLong(name, 0L));
+            }
+        }
+        
+        tagged = loaded;
+        primed = configuration.getBoolean("complete", false);
+    }
+    
+    public synchronized void save() {
+        if (!dirty) return;
+        
+        YamlConfiguration configuration = new YamlConfiguration();
+        configuration.set("complete", primed);
+        BitSet snapshot = tagged;
+        for (int ordinal = snapshot.nextSetBit(0); ordinal >= 0; ordinal = snapshot.nextSetBit(ordinal + 1)) {
+            configuration.set("materials." + MATERIALS[ordinal].name(), taggedCounts.get(ordinal));
+        }
+        
+        try {
+            configuration.save(file);
+            dirty = false;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to save " + file.getName(), e);
+        }
+    }
+}
\ No newline at end of file
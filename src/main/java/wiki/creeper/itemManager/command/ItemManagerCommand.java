@@ -0,0 +1,57 @@
+package wiki.creeper.itemManager.command;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabExecutor;
+import org.jetbrains.annotations.NotNull;
+import wiki.creeper.itemManager.cache.TaggedMaterialFilter;
+
+import java.util.List;
+
+public class ItemManagerCommand implements TabExecutor {
+    
+    private final TaggedMaterialFilter materialFilter;
+    
+    public ItemManagerCommand(@NotNull TaggedMaterialFilter materialFilter) {
+        this.materialFilter = materialFilter;
+    }
+    
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (args.length == 0 || !args[0].equalsIgnoreCase("filter")) {
+            sender.sendMessage(Component.text("/" + label + " filter [prime]", NamedTextColor.RED));
+            return true;
+        }
+        
+        if (args.length == 1) {
+            sender.sendMessage(Component.text("태그 재질 필터: " + (materialFilter.isPrimed() ? "활성" : "비활성")
+                    + " (" + materialFilter.size() + "개 재질)", NamedTextColor.GRAY));
+            return true;
+        }
+        
+        if (!args[1].equalsIgnoreCase("prime")) {
+            sender.sendMessage(Component.text("/" + label + " filter [prime]", NamedTextColor.RED));
+            return true;
+        }
+        
+        if (materialFilter.isPrimed()) {
+            sender.sendMessage(Component.text("태그 재질 필터가 이미 활성화되어 있습니다.", NamedTextColor.YELLOW));
+            return true;
+        }
+        
+        materialFilter.prime();
+        sender.sendMessage(Component.text("태그 재질 필터를 활성화했습니다. 전체 월드 마이그레이션이 끝난 뒤에만 사용하세요.", NamedTextColor.GREEN));
+        return true;
+    }
+    
+    @Override
+    public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        return switch (args.length) {
+            case 1 -> List.of("filter");
+            case 2 -> args[0].equalsIgnoreCase("filter") ? List.of("prime") : List.of();
+            default -> List.of();
+        };
+    }
+}
\ No newline at end of file
@@ -28,7 +28,9 @@ public class ItemExpiredEvent extends Event implements Cancellable {
         CONSUME,
         PLACE_BLOCK,
         CONTAINER_ACCESS,
-        PERIODIC_CHECK
+        PERIODIC_CHECK,
+        DROPPED_ITEM,
+        NESTED_CONTAINER
     }
     
     public ItemExpiredEvent(@Nullable Player player, @NotNull ItemStack expiredItem, @NotNull Timestamp expireTime, @NotNull ExpireAction action) {
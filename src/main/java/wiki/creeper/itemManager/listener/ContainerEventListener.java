@@ -0,0 +1,75 @@
+package wiki.creeper.itemManager.listener;
+
+import org.bukkit.Location;
+import org.bukkit.block.Container;
+import org.bukkit.block.ShulkerBox;
+import org.bukkit.entity.Item;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockDropItemEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import wiki.creeper.itemManager.api.ItemManagerAPI;
+import wiki.creeper.itemManager.scheduler.TaskScheduler;
+import wiki.creeper.itemManager.tracker.ChunkKey;
+import wiki.creeper.itemManager.tracker.ExpiryTracker;
+
+public class ContainerEventListener implements Listener {
+    
+    private final ItemManagerAPI itemManagerAPI;
+    private final ExpiryTracker expiryTracker;
+    private final TaskScheduler scheduler;
+    
+    public ContainerEventListener(@NotNull ItemManagerAPI itemManagerAPI, @NotNull ExpiryTracker expiryTracker, @NotNull TaskScheduler scheduler) {
+        this.itemManagerAPI = itemManagerAPI;
+        this.expiryTracker = expiryTracker;
+        this.scheduler = scheduler;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        if (event.isNewChunk()) return;
+        
+        expiryTracker.loadChunk(event.getChunk(), System.currentTimeMillis());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        expiryTracker.untrackChunk(ChunkKey.of(event.getChunk()));
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockDropItem(BlockDropItemEvent event) {
+        for (Item item : event.getItems()) {
+            ItemStack stack = item.getItemStack();
+            if (itemManagerAPI.invalidateNestedExpiry(stack)) {
+                item.setItemStack(stack);
+            }
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        if (event.getBlockPlaced().getState(false) instanceof ShulkerBox shulkerBox) {
+            itemManagerAPI.invalidateNestedExpiry(shulkerBox);
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryMoveItem(InventoryMoveItemEvent event) {
+        if (!(event.getDestination().getHolder(false) instanceof Container container)) return;
+        if (!itemManagerAPI.readState(event.getItem()).isTracked()) return;
+        
+        Location location = container.getLocation();
+        scheduler.runAtLocationLater(location, () -> {
+            if (location.getBlock().getState(false) instanceof Container current) {
+                expiryTracker.trackContainer(current);
+            }
+        }, 1L);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package wiki.creeper.itemManager.listener;
+
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.ItemDespawnEvent;
+import org.bukkit.event.entity.ItemMergeEvent;
+import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.event.inventory.InventoryPickupItemEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.jetbrains.annotations.NotNull;
+import wiki.creeper.itemManager.scheduler.TaskScheduler;
+import wiki.creeper.itemManager.tracker.ExpiryTracker;
+
+public class DroppedItemListener implements Listener {
+    
+    private final ExpiryTracker expiryTracker;
+    private final TaskScheduler scheduler;
+    
+    public DroppedItemListener(@NotNull ExpiryTracker expiryTracker, @NotNull TaskScheduler scheduler) {
+        this.expiryTracker = expiryTracker;
+        this.scheduler = scheduler;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemSpawn(ItemSpawnEvent event) {
+        expiryTracker.trackEntity(event.getEntity());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerDropItem(PlayerDropItemEvent event) {
+        if (event.getItemDrop().isValid()) {
+            expiryTracker.trackEntity(event.getItemDrop());
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemMerge(ItemMergeEvent event) {
+        expiryTracker.untrackEntity(event.getEntity().getUniqueId());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemDespawn(ItemDespawnEvent event) {
+        expiryTracker.untrackEntity(event.getEntity().getUniqueId());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityPickupItem(EntityPickupItemEvent event) {
+        if (event.getRemaining() == 0) {
+            expiryTracker.untrackEntity(event.getItem().getUniqueId());
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryPickupItem(InventoryPickupItemEvent event) {
+        Item item = event.getItem();
+        expiryTracker.untrackEntity(item.getUniqueId());
+        scheduler.runForEntityLater(item, () -> {
+            if (item.isValid()) {
+                expiryTracker.trackEntity(item);
+            }
+        }, 1L);
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemoveFromWorld(EntityRemoveFromWorldEvent event) {
+        if (event.getEntity() instanceof Item item) {
+            expiryTracker.untrackEntity(item.getUniqueId());
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof Item item) {
+                expiryTracker.trackEntity(item);
+            }
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof Item) {
+                expiryTracker.untrackEntity(entity.getUniqueId());
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -1,7 +1,6 @@
 package wiki.creeper.itemManager.listener;
 
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Container;
 import org.bukkit.entity.Player;
@@ -15,26 +14,35 @@ import org.bukkit.event.player.*;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 import wiki.creeper.itemManager.api.ItemManagerAPI;
+import wiki.creeper.itemManager.api.ItemState;
+import wiki.creeper.itemManager.api.Verdict;
+import wiki.creeper.itemManager.cache.OwnerNameCache;
 import wiki.creeper.itemManager.event.ContainerItemExpiredEvent;
 import wiki.creeper.itemManager.event.ItemAttributionDeniedEvent;
 import wiki.creeper.itemManager.event.ItemExpiredEvent;
+import wiki.creeper.itemManager.scheduler.TaskScheduler;
+import wiki.creeper.itemManager.tracker.ExpiryTracker;
 
-import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 public class ItemEventListener implements Listener {
     
     private final Plugin plugin;
     private final ItemManagerAPI itemManagerAPI;
+    private final ExpiryTracker expiryTracker;
+    private final TaskScheduler scheduler;
+    private final OwnerNameCache ownerNameCache;
     
-    public ItemEventListener(@NotNull Plugin plugin, @NotNull ItemManagerAPI itemManagerAPI) {
+    public ItemEventListener(@NotNull Plugin plugin, @NotNull ItemManagerAPI itemManagerAPI, @NotNull ExpiryTracker expiryTracker,
+                             @NotNull TaskScheduler scheduler, @NotNull OwnerNameCache ownerNameCache) {
         this.plugin = plugin;
         this.itemManagerAPI = itemManagerAPI;
+        this.expiryTracker = expiryTracker;
+        this.scheduler = scheduler;
+        this.ownerNameCache = ownerNameCache;
     }
     
     @EventHandler(priority = EventPriority.HIGH)
@@ -42,58 +50,55 @@ public class ItemEventListener implements Listener {
         if (!(event.getEntity() instanceof Player player)) return;
         
         ItemStack item = event.getItem().getItemStack();
+        Verdict verdict = itemManagerAPI.evaluate(item, player.getUniqueId());
+        expiryTracker.markDirty(player, isTracked(item, verdict));
         
-        if (itemManagerAPI.isExpired(item)) {
-            ItemExpiredEvent expiredEvent = new ItemExpiredEvent(player, item, itemManagerAPI.getExpireTime(item), ItemExpiredEvent.ExpireAction.PICKUP);
-            plugin.getServer().getPluginManager().callEvent(expiredEvent);
-            
-            if (!expiredEvent.isCancelled()) {
-                event.setCancelled(true);
-                event.getItem().remove();
+        switch (verdict) {
+            case Verdict.Expired expired -> {
+                if (fireExpired(player, item, expired, ItemExpiredEvent.ExpireAction.PICKUP)) {
+                    event.setCancelled(true);
+                    event.getItem().remove();
+                }
             }
-            return;
-        }
-        
-        if (itemManagerAPI.isAttribution(item)) {
-            UUID attribution = itemManagerAPI.getAttribution(item);
-            if (attribution != null && !attribution.equals(player.getUniqueId())) {
-                ItemAttributionDeniedEvent deniedEvent = new ItemAttributionDeniedEvent(player, item, attribution, ItemAttributionDeniedEvent.DeniedAction.PICKUP);
-                plugin.getServer().getPluginManager().callEvent(deniedEvent);
-                
-                if (!deniedEvent.isCancelled()) {
+            case Verdict.Denied denied -> {
+                if (fireDenied(player, item, denied, ItemAttributionDeniedEvent.DeniedAction.PICKUP)) {
                     event.setCancelled(true);
                 }
             }
+            case Verdict.Allowed allowed -> {
+                boolean refreshed = allowed.state().hasAttribution() && refreshAttribution(item);
+                if (itemManagerAPI.cacheNestedExpiry(item) || refreshed) {
+                    event.getItem().setItemStack(item);
+                }
+            }
         }
     }
     
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerInteract(PlayerInteractEvent event) {
         ItemStack item = event.getItem();
-        if (item == null || item.getType() == Material.AIR) return;
+        if (isEmpty(item)) return;
         
         Player player = event.getPlayer();
+        invalidateBundle(item);
         
-        if (!itemManagerAPI.canUse(item, player.getUniqueId())) {
-            if (itemManagerAPI.isExpired(item)) {
-                ItemExpiredEvent expiredEvent = new ItemExpiredEvent(player, item, itemManagerAPI.getExpireTime(item), ItemExpiredEvent.ExpireAction.USE);
-                plugin.getServer().getPluginManager().callEvent(expiredEvent);
-                
-                if (!expiredEvent.isCancelled()) {
+        Verdict verdict = itemManagerAPI.evaluate(item, player.getUniqueId());
+        expiryTracker.markDirty(player, isTracked(item, verdict));
+        
+        switch (verdict) {
+            case Verdict.Expired expired -> {
+                if (fireExpired(player, item, expired, ItemExpiredEvent.ExpireAction.USE)) {
                     event.setCancelled(true);
                     removeExpiredItem(player, item);
                 }
-            } else {
-                UUID attribution = itemManagerAPI.getAttribution(item);
-                if (attribution != null) {
-                    ItemAttributionDeniedEvent deniedEvent = new ItemAttributionDeniedEvent(player, item, attribution, ItemAttributionDeniedEvent.DeniedAction.USE);
-                    plugin.getServer().getPluginManager().callEvent(deniedEvent);
-                    
-                    if (!deniedEvent.isCancelled()) {
-                        event.setCancelled(true);
-                    }
+            }
+            case Verdict.Denied denied -> {
+                if (fireDenied(player, item, denied, ItemAttributionDeniedEvent.DeniedAction.USE)) {
+                    event.setCancelled(true);
                 }
             }
+            case Verdict.Allowed allowed -> {
+            }
         }
     }
     
@@ -103,26 +108,22 @@ public class ItemEventListener implements Listener {
         
         ItemStack currentItem = event.getCurrentItem();
         ItemStack cursor = event.getCursor();
+        invalidateBundle(currentItem);
+        invalidateBundle(cursor);
         
-        Inventory clickedInventory = event.getClickedInventory();
+        Verdict currentVerdict = itemManagerAPI.evaluate(currentItem, player.getUniqueId());
+        Verdict cursorVerdict = itemManagerAPI.evaluate(cursor, player.getUniqueId());
+        expiryTracker.markDirty(player, isTracked(currentItem, currentVerdict) || isTracked(cursor, cursorVerdict));
         
-        if (isContainerInventory(clickedInventory) && currentItem != null && currentItem.getType() != Material.AIR) {
-            if (itemManagerAPI.isAttribution(currentItem)) {
-                UUID attribution = itemManagerAPI.getAttribution(currentItem);
-                if (attribution != null && !attribution.equals(player.getUniqueId())) {
-                    ItemAttributionDeniedEvent deniedEvent = new ItemAttributionDeniedEvent(player, currentItem, attribution, ItemAttributionDeniedEvent.DeniedAction.CONTAINER_EXTRACT);
-                    plugin.getServer().getPluginManager().callEvent(deniedEvent);
-                    
-                    if (!deniedEvent.isCancelled()) {
-                        event.setCancelled(true);
-                    }
-                    return;
-                }
+        if (currentVerdict instanceof Verdict.Denied denied && isContainerInventory(event.getClickedInventory())) {
+            if (fireDenied(player, currentItem, denied, ItemAttributionDeniedEvent.DeniedAction.CONTAINER_EXTRACT)) {
+                event.setCancelled(true);
             }
+            return;
         }
         
-        handleInventoryItem(event, player, currentItem);
-        handleInventoryItem(event, player, cursor);
+        handleInventoryItem(event, player, currentItem, currentVerdict);
+        handleInventoryItem(event, player, cursor, cursorVerdict);
     }
     
     @EventHandler(priority = EventPriority.HIGH)
@@ -130,213 +131,210 @@ public class ItemEventListener implements Listener {
         if (!(event.getWhoClicked() instanceof Player player)) return;
         
         ItemStack item = event.getOldCursor();
-        if (item == null || item.getType() == Material.AIR) return;
+        Verdict verdict = itemManagerAPI.evaluate(item, player.getUniqueId());
+        expiryTracker.markDirty(player, isTracked(item, verdict));
         
-        if (!itemManagerAPI.canUse(item, player.getUniqueId())) {
-            if (itemManagerAPI.isExpired(item)) {
-                ItemExpiredEvent expiredEvent = new ItemExpiredEvent(player, item, itemManagerAPI.getExpireTime(item), ItemExpiredEvent.ExpireAction.INVENTORY_DRAG);
-                plugin.getServer().getPluginManager().callEvent(expiredEvent);
-                
-                if (!expiredEvent.isCancelled()) {
+        switch (verdict) {
+            case Verdict.Expired expired -> {
+                if (fireExpired(player, item, expired, ItemExpiredEvent.ExpireAction.INVENTORY_DRAG)) {
                     event.setCancelled(true);
                 }
-            } else {
-                UUID attribution = itemManagerAPI.getAttribution(item);
-                if (attribution != null) {
-                    ItemAttributionDeniedEvent deniedEvent = new ItemAttributionDeniedEvent(player, item, attribution, ItemAttributionDeniedEvent.DeniedAction.INVENTORY_DRAG);
-                    plugin.getServer().getPluginManager().callEvent(deniedEvent);
-                    
-                    if (!deniedEvent.isCancelled()) {
-                        event.setCancelled(true);
-                    }
+            }
+            case Verdict.Denied denied -> {
+                if (fireDenied(player, item, denied, ItemAttributionDeniedEvent.DeniedAction.INVENTORY_DRAG)) {
+                    event.setCancelled(true);
                 }
             }
+            case Verdict.Allowed allowed -> {
+            }
         }
     }
     
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerDropItem(PlayerDropItemEvent event) {
         Player player = event.getPlayer();
+        
         ItemStack item = event.getItemDrop().getItemStack();
+        Verdict verdict = itemManagerAPI.evaluate(item, player.getUniqueId());
+        expiryTracker.markDirty(player, isTracked(item, verdict));
         
-        if (itemManagerAPI.isExpired(item)) {
-            ItemExpiredEvent expiredEvent = new ItemExpiredEvent(player, item, itemManagerAPI.getExpireTime(item), ItemExpiredEvent.ExpireAction.DROP);
-            plugin.getServer().getPluginManager().callEvent(expiredEvent);
-            
-            if (!expiredEvent.isCancelled()) {
-                event.getItemDrop().remove();
+        switch (verdict) {
+            case Verdict.Expired expired -> {
+                if (fireExpired(player, item, expired, ItemExpiredEvent.ExpireAction.DROP)) {
+                    event.getItemDrop().remove();
+                }
             }
-            return;
-        }
-        
-        if (itemManagerAPI.isAttribution(item)) {
-            UUID attribution = itemManagerAPI.getAttribution(item);
-            if (attribution != null && !attribution.equals(player.getUniqueId())) {
-                ItemAttributionDeniedEvent deniedEvent = new ItemAttributionDeniedEvent(player, item, attribution, ItemAttributionDeniedEvent.DeniedAction.DROP);
-                plugin.getServer().getPluginManager().callEvent(deniedEvent);
-                
-                if (!deniedEvent.isCancelled()) {
+            case Verdict.Denied denied -> {
+                if (fireDenied(player, item, denied, ItemAttributionDeniedEvent.DeniedAction.DROP)) {
                     event.setCancelled(true);
                 }
             }
+            case Verdict.Allowed allowed -> {
+            }
         }
     }
     
     @EventHandler(priority = EventPriority.HIGH)
     public void onBlockPlace(BlockPlaceEvent event) {
         Player player = event.getPlayer();
+        
         ItemStack item = event.getItemInHand();
+        Verdict verdict = itemManagerAPI.evaluate(item, player.getUniqueId());
+        expiryTracker.markDirty(player, isTracked(item, verdict));
         
-        if (!itemManagerAPI.canUse(item, player.getUniqueId())) {
-            if (itemManagerAPI.isExpired(item)) {
-                ItemExpiredEvent expiredEvent = new ItemExpiredEvent(player, item, itemManagerAPI.getExpireTime(item), ItemExpiredEvent.ExpireAction.PLACE_BLOCK);
-                plugin.getServer().getPluginManager().callEvent(expiredEvent);
-                
-                if (!expiredEvent.isCancelled()) {
+        switch (verdict) {
+            case Verdict.Expired expired -> {
+                if (fireExpired(player, item, expired, ItemExpiredEvent.ExpireAction.PLACE_BLOCK)) {
                     event.setCancelled(true);
                     removeExpiredItem(player, item);
                 }
-            } else {
-                UUID attribution = itemManagerAPI.getAttribution(item);
-                if (attribution != null) {
-                    ItemAttributionDeniedEvent deniedEvent = new ItemAttributionDeniedEvent(player, item, attribution, ItemAttributionDeniedEvent.DeniedAction.PLACE_BLOCK);
-                    plugin.getServer().getPluginManager().callEvent(deniedEvent);
-                    
-                    if (!deniedEvent.isCancelled()) {
-                        event.setCancelled(true);
-                    }
+            }
+            case Verdict.Denied denied -> {
+                if (fireDenied(player, item, denied, ItemAttributionDeniedEvent.DeniedAction.PLACE_BLOCK)) {
+                    event.setCancelled(true);
                 }
             }
+            case Verdict.Allowed allowed -> {
+            }
         }
     }
     
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerItemConsume(PlayerItemConsumeEvent event) {
         Player player = event.getPlayer();
+        
         ItemStack item = event.getItem();
+        Verdict verdict = itemManagerAPI.evaluate(item, player.getUniqueId());
+        expiryTracker.markDirty(player, isTracked(item, verdict));
         
-        if (!itemManagerAPI.canUse(item, player.getUniqueId())) {
-            if (itemManagerAPI.isExpired(item)) {
-                ItemExpiredEvent expiredEvent = new ItemExpiredEvent(player, item, itemManagerAPI.getExpireTime(item), ItemExpiredEvent.ExpireAction.CONSUME);
-                plugin.getServer().getPluginManager().callEvent(expiredEvent);
-                
-                if (!expiredEvent.isCancelled()) {
+        switch (verdict) {
+            case Verdict.Expired expired -> {
+                if (fireExpired(player, item, expired, ItemExpiredEvent.ExpireAction.CONSUME)) {
                     event.setCancelled(true);
                     removeExpiredItem(player, item);
                 }
-            } else {
-                UUID attribution = itemManagerAPI.getAttribution(item);
-                if (attribution != null) {
-                    ItemAttributionDeniedEvent deniedEvent = new ItemAttributionDeniedEvent(player, item, attribution, ItemAttributionDeniedEvent.DeniedAction.CONSUME);
-                    plugin.getServer().getPluginManager().callEvent(deniedEvent);
-                    
-                    if (!deniedEvent.isCancelled()) {
-                        event.setCancelled(true);
-                    }
+            }
+            case Verdict.Denied denied -> {
+                if (fireDenied(player, item, denied, ItemAttributionDeniedEvent.DeniedAction.CONSUME)) {
+                    event.setCancelled(true);
                 }
             }
+            case Verdict.Allowed allowed -> {
+            }
         }
     }
     
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
-        Player player = event.getPlayer();
-        
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                checkAndRemoveExpiredItems(player);
-            }
-        }.runTaskLater(plugin, 20L);
+        ownerNameCache.put(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+        expiryTracker.requestAudit(event.getPlayer());
+    }
+    
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        expiryTracker.untrack(event.getPlayer().getUniqueId());
     }
     
     @EventHandler(priority = EventPriority.HIGH)
     public void onInventoryOpen(InventoryOpenEvent event) {
         if (!(event.getPlayer() instanceof Player player)) return;
         
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                checkAndRemoveExpiredItems(player);
-                
-                Inventory openedInventory = event.getInventory();
-                if (isContainerInventory(openedInventory)) {
-                    checkContainerExpiredItems(openedInventory, player);
-                }
-            }
-        }.runTaskLater(plugin, 1L);
+        expiryTracker.requestAudit(player);
+        
+        Inventory openedInventory = event.getInventory();
+        if (!isContainerInventory(openedInventory)) return;
+        
+        Location location = openedInventory.getLocation();
+        if (location != null) {
+            scheduler.runAtLocationLater(location, () -> checkContainerExpiredItems(openedInventory, player), 1L);
+        } else {
+            scheduler.runForEntityLater(player, () -> checkContainerExpiredItems(openedInventory, player), 1L);
+        }
     }
     
-    private void handleInventoryItem(InventoryClickEvent event, Player player, ItemStack item) {
-        if (item == null || item.getType() == Material.AIR) return;
-        
-        if (!itemManagerAPI.canUse(item, player.getUniqueId())) {
-            if (itemManagerAPI.isExpired(item)) {
-                ItemExpiredEvent expiredEvent = new ItemExpiredEvent(player, item, itemManagerAPI.getExpireTime(item), ItemExpiredEvent.ExpireAction.INVENTORY_CLICK);
-                plugin.getServer().getPluginManager().callEvent(expiredEvent);
-                
-                if (!expiredEvent.isCancelled()) {
-                    event.setCancelled(true);
-                    
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            if (event.getCurrentItem() != null && event.getCurrentItem().equals(item)) {
-                                event.setCurrentItem(null);
-                            }
-                            if (event.getCursor() != null && event.getCursor().equals(item)) {
-                                event.getWhoClicked().setItemOnCursor(null);
-                            }
-                        }
-                    }.runTask(plugin);
-                }
-            } else {
-                UUID attribution = itemManagerAPI.getAttribution(item);
-                if (attribution != null) {
-                    ItemAttributionDeniedEvent deniedEvent = new ItemAttributionDeniedEvent(player, item, attribution, ItemAttributionDeniedEvent.DeniedAction.INVENTORY_CLICK);
-                    plugin.getServer().getPluginManager().callEvent(deniedEvent);
-                    
-                    if (!deniedEvent.isCancelled()) {
-                        event.setCancelled(true);
-                    }
-                }
-            }
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        Inventory inventory = event.getInventory();
+        if (isContainerInventory(inventory) && inventory.getHolder() instanceof Container container) {
+            expiryTracker.trackContainer(container);
         }
     }
     
-    private void checkAndRemoveExpiredItems(Player player) {
-        for (int i = 0; i < player.getInventory().getSize(); i++) {
-            ItemStack item = player.getInventory().getItem(i);
-            if (item != null && itemManagerAPI.isExpired(item)) {
-                ItemExpiredEvent expiredEvent = new ItemExpiredEvent(player, item, itemManagerAPI.getExpireTime(item), ItemExpiredEvent.ExpireAction.PERIODIC_CHECK);
-                plugin.getServer().getPluginManager().callEvent(expiredEvent);
+    private void handleInventoryItem(InventoryClickEvent event, Player player, ItemStack item, Verdict verdict) {
+        switch (verdict) {
+            case Verdict.Expired expired -> {
+                if (!fireExpired(player, item, expired, ItemExpiredEvent.ExpireAction.INVENTORY_CLICK)) return;
                 
-                if (!expiredEvent.isCancelled()) {
-                    player.getInventory().setItem(i, null);
+                event.setCancelled(true);
+                scheduler.runForEntityLater(player, () -> {
+                    if (event.getCurrentItem() != null && event.getCurrentItem().equals(item)) {
+                        event.setCurrentItem(null);
+                    }
+                    if (event.getCursor() != null && event.getCursor().equals(item)) {
+                        event.getWhoClicked().setItemOnCursor(null);
+                    }
+                }, 1L);
+            }
+            case Verdict.Denied denied -> {
+                if (fireDenied(player, item, denied, ItemAttributionDeniedEvent.DeniedAction.INVENTORY_CLICK)) {
+                    event.setCancelled(true);
                 }
             }
+            case Verdict.Allowed allowed -> {
+            }
         }
     }
     
+    private boolean fireExpired(Player player, ItemStack item, Verdict.Expired expired, ItemExpiredEvent.ExpireAction action) {
+        ItemExpiredEvent expiredEvent = new ItemExpiredEvent(player, item, expired.getExpireTimestamp(), action);
+        plugin.getServer().getPluginManager().callEvent(expiredEvent);
+        return !expiredEvent.isCancelled();
+    }
+    
+    private boolean fireDenied(Player player, ItemStack item, Verdict.Denied denied, ItemAttributionDeniedEvent.DeniedAction action) {
+        ItemAttributionDeniedEvent deniedEvent = new ItemAttributionDeniedEvent(player, item, denied.owner(), action);
+        plugin.getServer().getPluginManager().callEvent(deniedEvent);
+        return !deniedEvent.isCancelled();
+    }
+    
     private void removeExpiredItem(Player player, ItemStack item) {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                player.getInventory().remove(item);
-            }
-        }.runTask(plugin);
+        scheduler.runForEntityLater(player, () -> player.getInventory().remove(item), 1L);
+    }
+    
+    private boolean refreshAttribution(ItemStack item) {
+        boolean migrated = itemManagerAPI.migrateLegacyAttribution(item);
+        boolean renamed = itemManagerAPI.refreshOwnerNameInPlace(item);
+        return migrated || renamed;
+    }
+    
+    private boolean isTracked(ItemStack item, Verdict verdict) {
+        if (!(verdict instanceof Verdict.Allowed allowed) || allowed.state().isTracked()) return true;
+        if (isEmpty(item)) return false;
+        
+        String name = item.getType().name();
+        return name.endsWith("SHULKER_BOX") || name.endsWith("BUNDLE");
+    }
+    
+    private void invalidateBundle(ItemStack item) {
+        if (item != null && item.getType().name().endsWith("BUNDLE")) {
+            itemManagerAPI.invalidateNestedExpiry(item);
+        }
+    }
+    
+    private boolean isEmpty(ItemStack item) {
+        return item == null || item.getType() == Material.AIR;
     }
     
     private boolean isContainerInventory(Inventory inventory) {
         if (inventory == null) return false;
         
         InventoryType type = inventory.getType();
-        return type == InventoryType.CHEST || 
-               type == InventoryType.DISPENSER || 
-               type == InventoryType.DROPPER || 
-               type == InventoryType.FURNACE || 
-               type == InventoryType.BREWING || 
-               type == InventoryType.HOPPER || 
+        return type == InventoryType.CHEST ||
+               type == InventoryType.DISPENSER ||
+               type == InventoryType.DROPPER ||
+               type == InventoryType.FURNACE ||
+               type == InventoryType.BREWING ||
+               type == InventoryType.HOPPER ||
                type == InventoryType.SHULKER_BOX ||
                type == InventoryType.BARREL ||
                type == InventoryType.BLAST_FURNACE ||
@@ -345,18 +343,37 @@ public class ItemEventListener implements Listener {
     
     private void checkContainerExpiredItems(Inventory inventory, Player opener) {
         List<ItemStack> expiredItems = new ArrayList<>();
+        long now = System.currentTimeMillis();
         
         for (int i = 0; i < inventory.getSize(); i++) {
             ItemStack item = inventory.getItem(i);
-            if (item != null && itemManagerAPI.isExpired(item)) {
+            if (item == null) continue;
+            
+            ItemState state = itemManagerAPI.readState(item);
+            if (state.isExpired(now)) {
                 expiredItems.add(item.clone());
                 inventory.setItem(i, null);
+                continue;
+            }
+            
+            List<ItemStack> nestedExpired = itemManagerAPI.removeExpiredNestedItems(item);
+            if (!nestedExpired.isEmpty()) {
+                expiredItems.addAll(nestedExpired);
+                inventory.setItem(i, item);
+            }
+            boolean refreshed = state.hasAttribution() && refreshAttribution(item);
+            if (itemManagerAPI.cacheNestedExpiry(item) || refreshed) {
+                inventory.setItem(i, item);
             }
         }
         
-        if (!expiredItems.isEmpty() && inventory.getHolder() instanceof Container container) {
+        if (!(inventory.getHolder() instanceof Container container)) return;
+        
+        if (!expiredItems.isEmpty()) {
             ContainerItemExpiredEvent event = new ContainerItemExpiredEvent(container, expiredItems, opener);
             plugin.getServer().getPluginManager().callEvent(event);
         }
+        
+        expiryTracker.trackContainer(container);
     }
 }
\ No newline at end of file
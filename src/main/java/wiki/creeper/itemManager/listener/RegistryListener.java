@@ -0,0 +1,41 @@
+package wiki.creeper.itemManager.listener;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import wiki.creeper.itemManager.api.ItemManagerAPI;
+import wiki.creeper.itemManager.event.ContainerItemExpiredEvent;
+import wiki.creeper.itemManager.event.ItemExpiredEvent;
+import wiki.creeper.itemManager.registry.ItemRegistry;
+
+public class RegistryListener implements Listener {
+    
+    private final ItemManagerAPI itemManagerAPI;
+    private final ItemRegistry itemRegistry;
+    
+    public RegistryListener(@NotNull ItemManagerAPI itemManagerAPI, @NotNull ItemRegistry itemRegistry) {
+        this.itemManagerAPI = itemManagerAPI;
+        this.itemRegistry = itemRegistry;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemExpired(ItemExpiredEvent event) {
+        forget(event.getExpiredItem());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onContainerItemExpired(ContainerItemExpiredEvent event) {
+        for (ItemStack item : event.getExpiredItems()) {
+            forget(item);
+        }
+    }
+    
+    private void forget(ItemStack item) {
+        long itemId = itemManagerAPI.getItemId(item);
+        if (itemId != -1) {
+            itemRegistry.remove(itemId);
+        }
+    }
+}
\ No newline at end of file
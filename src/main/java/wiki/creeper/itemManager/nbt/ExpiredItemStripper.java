@@ -0,0 +1,77 @@
+package wiki.creeper.itemManager.nbt;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+public final class ExpiredItemStripper {
+    
+    private static final String COMPONENTS = "components";
+    private static final String CUSTOM_DATA = "minecraft:custom_data";
+    private static final String BUKKIT_VALUES = "PublicBukkitValues";
+    private static final String CONTAINER = "minecraft:container";
+    private static final String BUNDLE_CONTENTS = "minecraft:bundle_contents";
+    private static final int MAX_DEPTH = 4;
+    
+    private final String expireTimeKey;
+    private final String itemIdKey;
+    private final String nestedExpiryKey;
+    
+    public ExpiredItemStripper(@NotNull String namespace) {
+        this.expireTimeKey = namespace + ":expire_time";
+        this.itemIdKey = namespace + ":item_id";
+        this.nestedExpiryKey = namespace + ":nested_expiry";
+    }
+    
+    public int strip(@Nullable Object items, long now, @Nullable LongConsumer removedIds) {
+        return strip(items, now, removedIds, 0);
+    }
+    
+    private int strip(Object items, long now, LongConsumer removedIds, int depth) {
+        if (!(items instanceof NbtList list)) return 0;
+        
+        int removed = 0;
+        Iterator<Object> iterator = list.values().iterator();
+        while (iterator.hasNext()) {
+            if (!(iterator.next() instanceof Map<?, ?> item)) continue;
+            
+            Map<?, ?> stack = item.get("item") instanceof Map<?, ?> wrapped ? wrapped : item;
+            Map<?, ?> values = bukkitValues(stack);
+            if (values != null && values.get(expireTimeKey) instanceof Long expireTime && now > expireTime) {
+                if (removedIds != null && values.get(itemIdKey) instanceof Long itemId) {
+                    removedIds.accept(itemId);
+                }
+                iterator.remove();
+                removed++;
+                continue;
+            }
+            
+            if (depth + 1 < MAX_DEPTH) {
+                removed += stripNested(stack, values, now, removedIds, depth + 1);
+            }
+        }
+        return removed;
+    }
+    
+    private int stripNested(Map<?, ?> stack, @Nullable Map<?, ?> values, long now, LongConsumer removedIds, int depth) {
+        if (!(stack.get(COMPONENTS) instanceof Map<?, ?> components)) return 0;
+        
+        int removed = strip(components.get(CONTAINER), now, removedIds, depth)
+                + strip(components.get(BUNDLE_CONTENTS), now, removedIds, depth);
+        if (removed > 0 && values != null) {
+            values.remove(nestedExpiryKey);
+        }
+        return removed;
+    }
+    
+    @Nullable
+    private static Map<?, ?> bukkitValues(Map<?, ?> stack) {
+        if (!(stack.get(COMPONENTS) instanceof Map<?, ?> components)) return null;
+        if (!(components.get(CUSTOM_DATA) instanceof Map<?, ?> customData)) return null;
+        
+        return customData.get(BUKKIT_VALUES) instanceof Map<?, ?> values ? values : null;
+    }
+}
\ No newline at end of file
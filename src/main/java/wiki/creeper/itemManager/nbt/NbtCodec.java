@@ -0,0 +1,197 @@
+package wiki.creeper.itemManager.nbt;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public final class NbtCodec {
+    
+    public static final byte END = 0;
+    public static final byte BYTE = 1;
+    public static final byte SHORT = 2;
+    public static final byte INT = 3;
+    public static final byte LONG = 4;
+    public static final byte FLOAT = 5;
+    public static final byte DOUBLE = 6;
+    public static final byte BYTE_ARRAY = 7;
+    public static final byte STRING = 8;
+    public static final byte LIST = 9;
+    public static final byte COMPOUND = 10;
+    public static final byte INT_ARRAY = 11;
+    public static final byte LONG_ARRAY = 12;
+    
+    private static final int MAX_DEPTH = 512;
+    
+    private NbtCodec() {
+    }
+    
+    @NotNull
+    public static Map<String, Object> readCompressed(@NotNull Path path) throws IOException {
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            return read(new DataInputStream(in));
+        }
+    }
+    
+    public static void writeCompressed(@NotNull Path path, @NotNull Map<String, Object> root) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            DataOutputStream data = new DataOutputStream(out);
+            write(data, root);
+            data.flush();
+        }
+    }
+    
+    @NotNull
+    public static Map<String, Object> read(@NotNull DataInput in) throws IOException {
+        byte type = in.readByte();
+        if (type != COMPOUND) throw new IOException("Root tag is not a compound: " + type);
+        
+        in.readUTF();
+        return readCompound(in, 0);
+    }
+    
+    public static void write(@NotNull DataOutput out, @NotNull Map<String, Object> root) throws IOException {
+        out.writeByte(COMPOUND);
+        out.writeUTF("");
+        writeCompound(out, root);
+    }
+    
+    private static Map<String, Object> readCompound(DataInput in, int depth) throws IOException {
+        Map<String, Object> compound = new LinkedHashMap<>();
+        byte type;
+        while ((type = in.readByte()) != END) {
+            String name = in.readUTF();
+            compound.put(name, readPayload(in, type, depth + 1));
+        }
+        return compound;
+    }
+    
+    private static Object readPayload(DataInput in, byte type, int depth) throws IOException {
+        if (depth > MAX_DEPTH) throw new IOException("NBT nested too deeply");
+        
+        return switch (type) {
+            case BYTE -> in.readByte();
+            case SHORT -> in.readShort();
+            case INT -> in.readInt();
+            case LONG -> in.readLong();
+            case FLOAT -> in.readFloat();
+            case DOUBLE -> in.readDouble();
+            case BYTE_ARRAY -> {
+                byte[] values = new byte[checkedLength(in.readInt())];
+                in.readFully(values);
+                yield values;
+            }
+            case STRING -> in.readUTF();
+            case LIST -> {
+                byte elementType = in.readByte();
+                int length = checkedLength(in.readInt());
+                List<Object> values = new ArrayList<>(length);
+                for (int i = 0; i < length; i++) {
+                    values.add(readPayload(in, elementType, depth + 1));
+                }
+                yield new NbtList(elementType, values);
+            }
+            case COMPOUND -> readCompound(in, depth);
+            case INT_ARRAY -> {
+                int[] values = new int[checkedLength(in.readInt())];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = in.readInt();
+                }
+                yield values;
+            }
+            case LONG_ARRAY -> {
+                long[] values = new long[checkedLength(in.readInt())];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = in.readLong();
+                }
+                yield values;
+            }
+            default -> throw new IOException("Unknown NBT tag type " + type);
+        };
+    }
+    
+    private static void writeCompound(DataOutput out, Map<String, Object> compound) throws IOException {
+        for (Map.Entry<String, Object> entry : compound.entrySet()) {
+            out.writeByte(typeOf(entry.getValue()));
+            out.writeUTF(entry.getKey());
+            writePayload(out, entry.getValue());
+        }
+        out.writeByte(END);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static void writePayload(DataOutput out, Object value) throws IOException {
+        switch (value) {
+            case Byte b -> out.writeByte(b);
+            case Short s -> out.writeShort(s);
+            case Integer i -> out.writeInt(i);
+            case Long l -> out.writeLong(l);
+            case Float f -> out.writeFloat(f);
+            case Double d -> out.writeDouble(d);
+            case byte[] bytes -> {
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            case String string -> out.writeUTF(string);
+            case NbtList list -> {
+                out.writeByte(list.values().isEmpty() ? END : list.elementType());
+                out.writeInt(list.values().size());
+                for (Object element : list.values()) {
+                    writePayload(out, element);
+                }
+            }
+            case Map<?, ?> compound -> writeCompound(out, (Map<String, Object>) compound);
+            case int[] ints -> {
+                out.writeInt(ints.length);
+                for (int i : ints) {
+                    out.writeInt(i);
+                }
+            }
+            case long[] longs -> {
+                out.writeInt(longs.length);
+                for (long l : longs) {
+                    out.writeLong(l);
+                }
+            }
+            default -> throw new IOException("Unsupported NBT value " + value.getClass().getName());
+        }
+    }
+    
+    private static byte typeOf(Object value) throws IOException {
+        return switch (value) {
+            case Byte b -> BYTE;
+            case Short s -> SHORT;
+            case Integer i -> INT;
+            case Long l -> LONG;
+            case Float f -> FLOAT;
+            case Double d -> DOUBLE;
+            case byte[] bytes -> BYTE_ARRAY;
+            case String string -> STRING;
+            case NbtList list -> LIST;
+            case Map<?, ?> compound -> COMPOUND;
+            case int[] ints -> INT_ARRAY;
+            case long[] longs -> LONG_ARRAY;
+            default -> throw new IOException("Unsupported NBT value " + value.getClass().getName());
+        };
+    }
+    
+    private static int checkedLength(int length) throws IOException {
+        if (length < 0) throw new IOException("Negative NBT length " + length);
+        return length;
+    }
+}
\ No newline at end of file
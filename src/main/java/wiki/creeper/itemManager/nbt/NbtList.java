@@ -0,0 +1,8 @@
+package wiki.creeper.itemManager.nbt;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+public record NbtList(byte elementType, @NotNull List<Object> values) {
+}
\ No newline at end of file
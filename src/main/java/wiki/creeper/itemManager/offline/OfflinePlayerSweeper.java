@@ -0,0 +1,182 @@
+package wiki.creeper.itemManager.offline;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import wiki.creeper.itemManager.nbt.ExpiredItemStripper;
+import wiki.creeper.itemManager.nbt.NbtCodec;
+import wiki.creeper.itemManager.registry.ItemRegistry;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+public class OfflinePlayerSweeper {
+    
+    private static final String DAT_SUFFIX = ".dat";
+    private static final long LOGIN_WAIT_SECONDS = 10L;
+    
+    public record Result(int scanned, int modified, int skipped, int itemsRemoved) {
+    }
+    
+    private final Plugin plugin;
+    private final ExpiredItemStripper stripper;
+    private final ItemRegistry itemRegistry;
+    private final int threads;
+    private final Map<UUID, CompletableFuture<Void>> processing = new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ThreadPoolExecutor workers;
+    
+    public OfflinePlayerSweeper(@NotNull Plugin plugin, @Nullable ItemRegistry itemRegistry, int threads) {
+        this.plugin = plugin;
+        this.stripper = new ExpiredItemStripper(new NamespacedKey(plugin, "expire_time").getNamespace());
+        this.itemRegistry = itemRegistry;
+        this.threads = Math.max(1, threads);
+    }
+    
+    public boolean isRunning() {
+        return running.get();
+    }
+    
+    @NotNull
+    public CompletableFuture<Result> sweep() {
+        if (!running.compareAndSet(false, true)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Offline sweep already running"));
+        }
+        
+        World world = plugin.getServer().getWorlds().get(0);
+        Path playerData = world.getWorldFolder().toPath().resolve("playerdata");
+        
+        return CompletableFuture.supplyAsync(() -> run(playerData), runnable -> {
+            Thread thread = new Thread(runnable, "ItemManager-OfflineSweep");
+            thread.setDaemon(true);
+            thread.start();
+        }).whenComplete((result, throwable) -> running.set(false));
+    }
+    
+    public void awaitRelease(@NotNull UUID playerUUID) {
+        CompletableFuture<Void> inFlight = processing.get(playerUUID);
+        if (inFlight == null) return;
+        
+        try {
+            inFlight.get(LOGIN_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            plugin.getLogger().warning("Offline sweep of " + playerUUID + " did not finish before login");
+        }
+    }
+    
+    public void shutdown() {
+        ThreadPoolExecutor current = workers;
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+    
+    private Result run(Path playerData) {
+        AtomicInteger scanned = new AtomicInteger();
+        AtomicInteger modified = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        AtomicInteger itemsRemoved = new AtomicInteger();
+        long now = System.currentTimeMillis();
+        
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4), runnable -> {
+            Thread thread = new Thread(runnable, "ItemManager-OfflineSweep-Worker");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        workers = executor;
+        
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(playerData, "*" + DAT_SUFFIX)) {
+            for (Path file : files) {
+                UUID playerUUID = parseUUID(file);
+                if (playerUUID == null) continue;
+                
+                executor.execute(() -> {
+                    int removed = process(file, playerUUID, now);
+                    if (removed < 0) {
+                        skipped.incrementAndGet();
+                        return;
+                    }
+                    
+                    scanned.incrementAndGet();
+                    if (removed > 0) {
+                        modified.incrementAndGet();
+                        itemsRemoved.addAndGet(removed);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to list " + playerData, e);
+        } finally {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(1L, TimeUnit.HOURS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            workers = null;
+        }
+        
+        return new Result(scanned.get(), modified.get(), skipped.get(), itemsRemoved.get());
+    }
+    
+    private int process(Path file, UUID playerUUID, long now) {
+        CompletableFuture<Void> lock = new CompletableFuture<>();
+        if (processing.putIfAbsent(playerUUID, lock) != null) return -1;
+        
+        try {
+            if (plugin.getServer().getPlayer(playerUUID) != null) return -1;
+            
+            Map<String, Object> root = NbtCodec.readCompressed(file);
+            int removed = stripper.strip(root.get("Inventory"), now, this::forget)
+                    + stripper.strip(root.get("EnderItems"), now, this::forget);
+            if (removed == 0) return 0;
+            
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            NbtCodec.writeCompressed(temp, root);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return removed;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to sweep " + file.getFileName(), e);
+            return -1;
+        } finally {
+            processing.remove(playerUUID);
+            lock.complete(null);
+        }
+    }
+    
+    private void forget(long itemId) {
+        if (itemRegistry != null) {
+            itemRegistry.remove(itemId);
+        }
+    }
+    
+    @Nullable
+    private static UUID parseUUID(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return UUID.fromString(name.substring(0, name.length() - DAT_SUFFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
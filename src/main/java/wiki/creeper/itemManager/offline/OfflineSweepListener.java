@@ -0,0 +1,23 @@
+package wiki.creeper.itemManager.offline;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.jetbrains.annotations.NotNull;
+
+public class OfflineSweepListener implements Listener {
+    
+    private final OfflinePlayerSweeper sweeper;
+    
+    public OfflineSweepListener(@NotNull OfflinePlayerSweeper sweeper) {
+        this.sweeper = sweeper;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            sweeper.awaitRelease(event.getUniqueId());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,334 @@
+package wiki.creeper.itemManager.offline;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import wiki.creeper.itemManager.nbt.ExpiredItemStripper;
+import wiki.creeper.itemManager.nbt.NbtCodec;
+import wiki.creeper.itemManager.nbt.NbtList;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+public class RegionScanner {
+    
+    private static final int SECTOR_BYTES = 4096;
+    private static final int CHUNKS = 1024;
+    private static final int MAX_SECTORS = 255;
+    private static final byte GZIP = 1;
+    private static final byte ZLIB = 2;
+    private static final byte NONE = 3;
+    private static final int EXTERNAL = 128;
+    
+    public record Report(int regions, int regionsModified, long chunks, long containers, long itemsRemoved, long chunksSkipped) {
+    }
+    
+    private record Rewrite(byte[] data, int containers, int removed) {
+        
+        boolean fits() {
+            return sectors(data) <= MAX_SECTORS;
+        }
+    }
+    
+    private final ExpiredItemStripper stripper;
+    private final boolean dryRun;
+    private final AtomicInteger regionsModified = new AtomicInteger();
+    private final AtomicLong chunks = new AtomicLong();
+    private final AtomicLong containers = new AtomicLong();
+    private final AtomicLong itemsRemoved = new AtomicLong();
+    private final AtomicLong chunksSkipped = new AtomicLong();
+    
+    public RegionScanner(@NotNull String namespace, boolean dryRun) {
+        this.stripper = new ExpiredItemStripper(namespace);
+        this.dryRun = dryRun;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: RegionScanner <world-folder> [--dry-run] [--namespace <namespace>] [--threads <n>]");
+            System.exit(1);
+        }
+        
+        Path world = Path.of(args[0]);
+        boolean dryRun = false;
+        String namespace = "itemmanager";
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--dry-run" -> dryRun = true;
+                case "--namespace" -> namespace = args[++i];
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(1);
+                }
+            }
+        }
+        
+        long started = System.nanoTime();
+        Report report;
+        try {
+            report = new RegionScanner(namespace, dryRun).scan(world, threads);
+        } catch (IllegalStateException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return;
+        }
+        System.out.printf("%s %d regions (%d modified), %d chunks, %d containers, %d expired items removed, %d chunks skipped in %.1fs%n",
+                dryRun ? "Scanned" : "Swept", report.regions(), report.regionsModified(), report.chunks(), report.containers(),
+                report.itemsRemoved(), report.chunksSkipped(), (System.nanoTime() - started) / 1e9);
+    }
+    
+    @NotNull
+    public Report scan(@NotNull Path world, int threads) throws Exception {
+        List<Path> regions;
+        List<Path> sessionLocks;
+        try (Stream<Path> files = Files.walk(world)) {
+            List<Path> all = files.toList();
+            regions = all.stream()
+                    .filter(path -> path.getFileName().toString().endsWith(".mca"))
+                    .filter(path -> path.getParent() != null && path.getParent().getFileName().toString().equals("region"))
+                    .toList();
+            sessionLocks = all.stream()
+                    .filter(path -> path.getFileName().toString().equals("session.lock"))
+                    .toList();
+        }
+        
+        List<FileChannel> locked = new ArrayList<>();
+        try {
+            if (!dryRun) {
+                for (Path sessionLock : sessionLocks) {
+                    locked.add(lockSession(sessionLock));
+                }
+            }
+            
+            long now = System.currentTimeMillis();
+            ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+            try {
+                pool.submit(() -> regions.parallelStream().forEach(region -> {
+                    try {
+                        scanRegion(region, now);
+                    } catch (IOException e) {
+                        System.err.println("Failed to scan " + region + ": " + e.getMessage());
+                    }
+                })).get();
+            } finally {
+                pool.shutdown();
+            }
+        } finally {
+            for (FileChannel channel : locked) {
+                channel.close();
+            }
+        }
+        
+        return new Report(regions.size(), regionsModified.get(), chunks.get(), containers.get(), itemsRemoved.get(), chunksSkipped.get());
+    }
+    
+    @NotNull
+    private static FileChannel lockSession(Path sessionLock) throws IOException {
+        FileChannel channel = FileChannel.open(sessionLock, StandardOpenOption.WRITE);
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock != null) return channel;
+        } catch (OverlappingFileLockException ignored) {
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        
+        channel.close();
+        throw new IllegalStateException(sessionLock.getParent() + " is in use by a running server; stop it before scanning");
+    }
+    
+    private void scanRegion(Path region, long now) throws IOException {
+        Rewrite[] rewritten = new Rewrite[CHUNKS];
+        byte[][] original = new byte[CHUNKS][];
+        int[] timestamps = new int[CHUNKS];
+        
+        try (FileChannel channel = FileChannel.open(region, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SECTOR_BYTES * 2L) return;
+            
+            ByteBuffer header = ByteBuffer.allocate(SECTOR_BYTES * 2);
+            readFully(channel, header, 0);
+            for (int i = 0; i < CHUNKS; i++) {
+                timestamps[i] = header.getInt(SECTOR_BYTES + i * 4);
+                original[i] = readChunk(channel, size, header.getInt(i * 4));
+            }
+        }
+        
+        IntStream.range(0, CHUNKS).parallel().forEach(i -> rewritten[i] = scanChunk(original[i], now));
+        
+        boolean modified = false;
+        for (int i = 0; i < CHUNKS; i++) {
+            Rewrite rewrite = rewritten[i];
+            if (rewrite == null) continue;
+            
+            if (!rewrite.fits()) {
+                chunksSkipped.incrementAndGet();
+                rewritten[i] = null;
+                continue;
+            }
+            
+            containers.addAndGet(rewrite.containers());
+            itemsRemoved.addAndGet(rewrite.removed());
+            modified = true;
+        }
+        if (!modified) return;
+        
+        regionsModified.incrementAndGet();
+        if (!dryRun) {
+            writeRegion(region, original, rewritten, timestamps);
+        }
+    }
+    
+    @Nullable
+    private static byte[] readChunk(FileChannel channel, long size, int location) throws IOException {
+        int sectorOffset = location >>> 8;
+        int sectorCount = location & 0xFF;
+        if (sectorOffset < 2 || sectorCount == 0) return null;
+        
+        long start = (long) sectorOffset * SECTOR_BYTES;
+        if (start + 5 > size) return null;
+        
+        ByteBuffer header = ByteBuffer.allocate(4);
+        readFully(channel, header, start);
+        int length = header.getInt(0);
+        if (length <= 0 || start + 4 + length > size) return null;
+        
+        ByteBuffer data = ByteBuffer.allocate(4 + length);
+        readFully(channel, data, start);
+        return data.array();
+    }
+    
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of region file");
+            }
+        }
+    }
+    
+    @Nullable
+    private Rewrite scanChunk(@Nullable byte[] raw, long now) {
+        if (raw == null) return null;
+        
+        chunks.incrementAndGet();
+        byte compression = raw[4];
+        if ((compression & EXTERNAL) != 0 || (compression != GZIP && compression != ZLIB && compression != NONE)) {
+            chunksSkipped.incrementAndGet();
+            return null;
+        }
+        
+        try {
+            Map<String, Object> root;
+            try (InputStream in = decompress(compression, new ByteArrayInputStream(raw, 5, raw.length - 5))) {
+                root = NbtCodec.read(new DataInputStream(in));
+            }
+            
+            if (!(root.get("block_entities") instanceof NbtList blockEntities)) return null;
+            
+            int modifiedContainers = 0;
+            int removed = 0;
+            for (Object blockEntity : blockEntities.values()) {
+                if (!(blockEntity instanceof Map<?, ?> compound)) continue;
+                
+                int stripped = stripper.strip(compound.get("Items"), now, null);
+                if (stripped > 0) {
+                    modifiedContainers++;
+                    removed += stripped;
+                }
+            }
+            if (removed == 0) return null;
+            
+            return new Rewrite(encode(compression, root), modifiedContainers, removed);
+        } catch (IOException e) {
+            chunksSkipped.incrementAndGet();
+            return null;
+        }
+    }
+    
+    private void writeRegion(Path region, byte[][] original, Rewrite[] rewritten, int[] timestamps) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int[] locations = new int[CHUNKS];
+        int sector = 2;
+        
+        for (int i = 0; i < CHUNKS; i++) {
+            byte[] data = rewritten[i] != null ? rewritten[i].data() : original[i];
+            if (data == null) continue;
+            
+            int sectors = sectors(data);
+            locations[i] = sector << 8 | sectors;
+            body.write(data);
+            body.write(new byte[sectors * SECTOR_BYTES - data.length]);
+            sector += sectors;
+        }
+        
+        Path temp = region.resolveSibling(region.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+            for (int location : locations) {
+                out.writeInt(location);
+            }
+            for (int timestamp : timestamps) {
+                out.writeInt(timestamp);
+            }
+            body.writeTo(out);
+        }
+        Files.move(temp, region, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    private static int sectors(byte[] data) {
+        return (data.length + SECTOR_BYTES - 1) / SECTOR_BYTES;
+    }
+    
+    private static InputStream decompress(byte compression, InputStream in) throws IOException {
+        return switch (compression) {
+            case GZIP -> new GZIPInputStream(in);
+            case ZLIB -> new InflaterInputStream(in);
+            default -> in;
+        };
+    }
+    
+    private static byte[] encode(byte compression, Map<String, Object> root) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (OutputStream out = switch (compression) {
+            case GZIP -> new GZIPOutputStream(payload);
+            case ZLIB -> new DeflaterOutputStream(payload);
+            default -> payload;
+        }) {
+            NbtCodec.write(new DataOutputStream(out), root);
+        }
+        
+        byte[] compressed = payload.toByteArray();
+        ByteBuffer chunk = ByteBuffer.allocate(5 + compressed.length);
+        chunk.putInt(compressed.length + 1);
+        chunk.put(compression);
+        chunk.put(compressed);
+        return chunk.array();
+    }
+}
\ No newline at end of file
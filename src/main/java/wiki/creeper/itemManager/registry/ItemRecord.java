@@ -0,0 +1,16 @@
+package wiki.creeper.itemManager.registry;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+public record ItemRecord(long itemId, long expireTime, @Nullable UUID owner) {
+    
+    public boolean hasExpireTime() {
+        return expireTime != Long.MAX_VALUE;
+    }
+    
+    public boolean hasOwner() {
+        return owner != null;
+    }
+}
\ No newline at end of file
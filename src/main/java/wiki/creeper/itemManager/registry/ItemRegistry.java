@@ -0,0 +1,299 @@
+package wiki.creeper.itemManager.registry;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+public class ItemRegistry {
+    
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final int COMPACT_MIN_ENTRIES = 4096;
+    
+    private record Operation(byte type, ItemRecord record) {
+    }
+    
+    private final Plugin plugin;
+    private final File file;
+    private final long flushIntervalMillis;
+    private final ConcurrentLinkedQueue<Operation> pending = new ConcurrentLinkedQueue<>();
+    private final Object logLock = new Object();
+    private final Map<Long, ItemRecord> records = new HashMap<>();
+    private final Map<UUID, Set<Long>> byOwner = new HashMap<>();
+    private final NavigableMap<Long, Set<Long>> byExpiry = new TreeMap<>();
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ItemManager-Registry");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private DataOutputStream log;
+    private long logEntries;
+    
+    public ItemRegistry(@NotNull Plugin plugin, long flushIntervalMillis) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "registry.log");
+        this.flushIntervalMillis = Math.max(50L, flushIntervalMillis);
+    }
+    
+    public void start() {
+        synchronized (logLock) {
+            synchronized (this) {
+                replay();
+            }
+        }
+        
+        writer.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        flush();
+        synchronized (logLock) {
+            closeLog();
+        }
+    }
+    
+    public void put(@NotNull ItemRecord record) {
+        pending.add(new Operation(OP_PUT, record));
+    }
+    
+    public void remove(long itemId) {
+        pending.add(new Operation(OP_REMOVE, new ItemRecord(itemId, Long.MAX_VALUE, null)));
+    }
+    
+    @Nullable
+    public synchronized ItemRecord get(long itemId) {
+        return records.get(itemId);
+    }
+    
+    @NotNull
+    public synchronized List<ItemRecord> getByOwner(@NotNull UUID owner) {
+        Set<Long> itemIds = byOwner.get(owner);
+        if (itemIds == null) return List.of();
+        
+        List<ItemRecord> result = new ArrayList<>(itemIds.size());
+        for (long itemId : itemIds) {
+            result.add(records.get(itemId));
+        }
+        return result;
+    }
+    
+    @NotNull
+    public synchronized List<ItemRecord> getExpiringBefore(long time) {
+        List<ItemRecord> result = new ArrayList<>();
+        for (Set<Long> itemIds : byExpiry.headMap(time, false).values()) {
+            for (long itemId : itemIds) {
+                result.add(records.get(itemId));
+            }
+        }
+        return result;
+    }
+    
+    public synchronized int size() {
+        return records.size();
+    }
+    
+    public int pendingWrites() {
+        return pending.size();
+    }
+    
+    public void flush() {
+        if (pending.isEmpty()) return;
+        
+        synchronized (logLock) {
+            List<Operation> batch = new ArrayList<>();
+            int size;
+            synchronized (this) {
+                Operation operation;
+                while ((operation = pending.poll()) != null) {
+                    if (operation.type() == OP_PUT) {
+                        index(operation.record());
+                    } else {
+                        unindex(operation.record().itemId());
+                    }
+                    batch.add(operation);
+                }
+                size = records.size();
+            }
+            
+            try {
+                DataOutputStream out = openLog();
+                for (Operation operation : batch) {
+                    write(out, operation);
+                }
+                out.flush();
+                logEntries += batch.size();
+                
+                if (logEntries >= COMPACT_MIN_ENTRIES && logEntries > size * 2L) {
+                    compact();
+                }
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to write item registry", e);
+                closeLog();
+            }
+        }
+    }
+    
+    private void replay() {
+        if (!file.exists()) return;
+        
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                Operation operation = read(in);
+                if (operation.type() == OP_PUT) {
+                    index(operation.record());
+                } else {
+                    unindex(operation.record().itemId());
+                }
+                logEntries++;
+            }
+        } catch (EOFException ignored) {
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to read item registry; continuing with " + records.size() + " records", e);
+            if (!preserveCorrupt()) return;
+        }
+        
+        try {
+            compact();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to compact item registry", e);
+        }
+    }
+    
+    private boolean preserveCorrupt() {
+        File corrupt = new File(file.getParentFile(), file.getName() + ".corrupt");
+        try {
+            Files.move(file.toPath(), corrupt.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            plugin.getLogger().warning("Moved the unreadable item registry to " + corrupt.getName());
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to preserve the unreadable item registry; leaving it in place", e);
+            return false;
+        }
+    }
+    
+    private void compact() throws IOException {
+        closeLog();
+        
+        List<ItemRecord> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(records.values());
+        }
+        
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            for (ItemRecord record : snapshot) {
+                write(out, new Operation(OP_PUT, record));
+            }
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logEntries = snapshot.size();
+    }
+    
+    private DataOutputStream openLog() throws IOException {
+        if (log == null) {
+            file.getParentFile().mkdirs();
+            log = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+        }
+        return log;
+    }
+    
+    private void closeLog() {
+        if (log == null) return;
+        
+        try {
+            log.close();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to close item registry", e);
+        }
+        log = null;
+    }
+    
+    private void index(ItemRecord record) {
+        unindex(record.itemId());
+        records.put(record.itemId(), record);
+        
+        if (record.hasOwner()) {
+            byOwner.computeIfAbsent(record.owner(), owner -> new HashSet<>()).add(record.itemId());
+        }
+        if (record.hasExpireTime()) {
+            byExpiry.computeIfAbsent(record.expireTime(), expireTime -> new HashSet<>()).add(record.itemId());
+        }
+    }
+    
+    private void unindex(long itemId) {
+        ItemRecord previous = records.remove(itemId);
+        if (previous == null) return;
+        
+        if (previous.hasOwner()) {
+            removeFrom(byOwner, previous.owner(), itemId);
+        }
+        if (previous.hasExpireTime()) {
+            removeFrom(byExpiry, previous.expireTime(), itemId);
+        }
+    }
+    
+    private static <K> void removeFrom(Map<K, Set<Long>> index, K key, long itemId) {
+        Set<Long> itemIds = index.get(key);
+        if (itemIds != null && itemIds.remove(itemId) && itemIds.isEmpty()) {
+            index.remove(key);
+        }
+    }
+    
+    private static void write(DataOutputStream out, Operation operation) throws IOException {
+        ItemRecord record = operation.record();
+        out.writeByte(operation.type());
+        out.writeLong(record.itemId());
+        if (operation.type() == OP_REMOVE) return;
+        
+        out.writeLong(record.expireTime());
+        out.writeBoolean(record.hasOwner());
+        if (record.hasOwner()) {
+            out.writeLong(record.owner().getMostSignificantBits());
+            out.writeLong(record.owner().getLeastSignificantBits());
+        }
+    }
+    
+    private static Operation read(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        long itemId = in.readLong();
+        if (type == OP_REMOVE) return new Operation(OP_REMOVE, new ItemRecord(itemId, Long.MAX_VALUE, null));
+        if (type != OP_PUT) throw new IOException("Unknown registry operation " + type);
+        
+        long expireTime = in.readLong();
+        UUID owner = in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+        return new Operation(OP_PUT, new ItemRecord(itemId, expireTime, owner));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,186 @@
+package wiki.creeper.itemManager.render;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.events.ListenerPriority;
+import com.comphenix.protocol.events.PacketAdapter;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.events.PacketEvent;
+import com.comphenix.protocol.reflect.EquivalentConverter;
+import com.comphenix.protocol.reflect.StructureModifier;
+import com.comphenix.protocol.wrappers.BukkitConverters;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import wiki.creeper.itemManager.api.impl.ItemManagerImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public class ProtocolLibLoreRenderer {
+    
+    private record WindowState(int inventoryStateId, int containerId, int containerStateId) {
+    }
+    
+    private final Plugin plugin;
+    private final ItemManagerImpl itemManager;
+    private final Map<Player, WindowState> windowStates = Collections.synchronizedMap(new WeakHashMap<>());
+    private PacketAdapter adapter;
+    
+    public ProtocolLibLoreRenderer(@NotNull Plugin plugin, @NotNull ItemManagerImpl itemManager) {
+        this.plugin = plugin;
+        this.itemManager = itemManager;
+    }
+    
+    public void register() {
+        adapter = new PacketAdapter(plugin, ListenerPriority.HIGHEST,
+                PacketType.Play.Server.SET_SLOT,
+                PacketType.Play.Server.WINDOW_ITEMS,
+                PacketType.Play.Server.SET_CURSOR_ITEM,
+                PacketType.Play.Server.SET_PLAYER_INVENTORY,
+                PacketType.Play.Client.SET_CREATIVE_SLOT,
+                PacketType.Play.Client.WINDOW_CLICK) {
+            
+            @Override
+            public void onPacketSending(PacketEvent event) {
+                if (event.getPacketType() == PacketType.Play.Server.SET_SLOT || event.getPacketType() == PacketType.Play.Server.WINDOW_ITEMS) {
+                    recordWindowState(event.getPlayer(), event.getPacket());
+                }
+                
+                PacketContainer packet = event.getPacket().shallowClone();
+                if (renderItems(packet)) {
+                    event.setPacket(packet);
+                }
+            }
+            
+            @Override
+            public void onPacketReceiving(PacketEvent event) {
+                stripItems(event.getPacket());
+            }
+        };
+        ProtocolLibrary.getProtocolManager().addPacketListener(adapter);
+    }
+    
+    public void unregister() {
+        if (adapter != null) {
+            ProtocolLibrary.getProtocolManager().removePacketListener(adapter);
+            adapter = null;
+        }
+        windowStates.clear();
+    }
+    
+    public void resendSlots(@NotNull Player player, @NotNull int[] rawSlots) {
+        WindowState state = windowStates.get(player);
+        if (state == null) return;
+        
+        InventoryView view = player.getOpenInventory();
+        boolean container = view.getTopInventory().getType() != InventoryType.CRAFTING;
+        if (container && state.containerId() <= 0) return;
+        
+        int containerId = container ? state.containerId() : 0;
+        int stateId = container ? state.containerStateId() : state.inventoryStateId();
+        for (int rawSlot : rawSlots) {
+            PacketContainer packet = ProtocolLibrary.getProtocolManager().createPacket(PacketType.Play.Server.SET_SLOT);
+            packet.getIntegers().write(0, containerId).write(1, stateId).write(2, rawSlot);
+            packet.getItemModifier().write(0, view.getItem(rawSlot));
+            ProtocolLibrary.getProtocolManager().sendServerPacket(player, packet);
+        }
+    }
+    
+    private void recordWindowState(Player player, PacketContainer packet) {
+        StructureModifier<Integer> integers = packet.getIntegers();
+        int containerId = integers.read(0);
+        int stateId = integers.read(1);
+        if (containerId < 0) return;
+        
+        windowStates.compute(player, (key, previous) -> {
+            if (containerId == 0) {
+                return previous != null ? new WindowState(stateId, previous.containerId(), previous.containerStateId()) : new WindowState(stateId, -1, 0);
+            }
+            return new WindowState(previous != null ? previous.inventoryStateId() : 0, containerId, stateId);
+        });
+    }
+    
+    private void stripItems(PacketContainer packet) {
+        StructureModifier<ItemStack> items = packet.getItemModifier();
+        for (int i = 0; i < items.size(); i++) {
+            ItemStack item = items.read(i);
+            if (item != null) {
+                items.write(i, itemManager.stripRenderedLore(item));
+            }
+        }
+        
+        EquivalentConverter<ItemStack> converter = BukkitConverters.getItemStackConverter();
+        StructureModifier<Int2ObjectMap<Object>> slotMaps = packet.getModifier().withType(Int2ObjectMap.class);
+        for (int i = 0; i < slotMaps.size(); i++) {
+            Int2ObjectMap<Object> slots = slotMaps.read(i);
+            if (slots == null || slots.isEmpty()) continue;
+            
+            Int2ObjectMap<Object> stripped = new Int2ObjectOpenHashMap<>(slots.size());
+            boolean changed = false;
+            for (Map.Entry<Integer, Object> slot : slots.entrySet()) {
+                ItemStack item = converter.getSpecific(slot.getValue());
+                ItemStack strippedItem = item != null ? itemManager.stripRenderedLore(item) : null;
+                if (strippedItem != item) {
+                    stripped.put(slot.getKey().intValue(), converter.getGeneric(strippedItem));
+                    changed = true;
+                } else {
+                    stripped.put(slot.getKey().intValue(), slot.getValue());
+                }
+            }
+            
+            if (changed) {
+                slotMaps.write(i, stripped);
+            }
+        }
+    }
+    
+    private boolean renderItems(PacketContainer packet) {
+        boolean changed = false;
+        
+        StructureModifier<ItemStack> items = packet.getItemModifier();
+        for (int i = 0; i < items.size(); i++) {
+            ItemStack item = items.read(i);
+            if (item == null) continue;
+            
+            ItemStack rendered = itemManager.renderLore(item);
+            if (rendered != item) {
+                items.write(i, rendered);
+                changed = true;
+            }
+        }
+        
+        StructureModifier<List<ItemStack>> lists = packet.getItemListModifier();
+        for (int i = 0; i < lists.size(); i++) {
+            List<ItemStack> list = lists.read(i);
+            if (list == null) continue;
+            
+            List<ItemStack> rendered = null;
+            for (int slot = 0; slot < list.size(); slot++) {
+                ItemStack item = list.get(slot);
+                ItemStack renderedItem = item != null ? itemManager.renderLore(item) : null;
+                if (renderedItem != item && rendered == null) {
+                    rendered = new ArrayList<>(list);
+                }
+                if (rendered != null) {
+                    rendered.set(slot, renderedItem);
+                }
+            }
+            
+            if (rendered != null) {
+                lists.write(i, rendered);
+                changed = true;
+            }
+        }
+        
+        return changed;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package wiki.creeper.itemManager.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+public class BukkitTaskScheduler implements TaskScheduler {
+    
+    private final Plugin plugin;
+    
+    public BukkitTaskScheduler(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    @Override
+    public boolean isOwnedByCurrentThread(@NotNull Entity entity) {
+        return plugin.getServer().isPrimaryThread();
+    }
+    
+    @Override
+    public void runForEntity(@NotNull Entity entity, @NotNull Runnable task) {
+        runNowOrNextTick(task);
+    }
+    
+    @Override
+    public void runForEntityLater(@NotNull Entity entity, @NotNull Runnable task, long delayTicks) {
+        plugin.getServer().getScheduler().runTaskLater(plugin, task, delayTicks);
+    }
+    
+    @Override
+    public void runAtLocation(@NotNull Location location, @NotNull Runnable task) {
+        runNowOrNextTick(task);
+    }
+    
+    @Override
+    public void runAtLocationLater(@NotNull Location location, @NotNull Runnable task, long delayTicks) {
+        plugin.getServer().getScheduler().runTaskLater(plugin, task, delayTicks);
+    }
+    
+    @Override
+    public void runGlobal(@NotNull Runnable task) {
+        runNowOrNextTick(task);
+    }
+    
+    @Override
+    @NotNull
+    public TaskHandle runGlobalTimer(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        BukkitTask bukkitTask = plugin.getServer().getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks);
+        return bukkitTask::cancel;
+    }
+    
+    @Override
+    public void cancelTasks() {
+        plugin.getServer().getScheduler().cancelTasks(plugin);
+    }
+    
+    private void runNowOrNextTick(Runnable task) {
+        if (plugin.getServer().isPrimaryThread()) {
+            task.run();
+        } else {
+            plugin.getServer().getScheduler().runTask(plugin, task);
+        }
+    }
+}
\ No newline at end of file
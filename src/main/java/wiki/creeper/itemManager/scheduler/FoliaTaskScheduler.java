@@ -0,0 +1,110 @@
+package wiki.creeper.itemManager.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+public class FoliaTaskScheduler implements TaskScheduler {
+    
+    private static final int PRUNE_THRESHOLD = 256;
+    
+    private final Plugin plugin;
+    private final Set<ScheduledTask> scheduledTasks = ConcurrentHashMap.newKeySet();
+    private volatile int pruneAt = PRUNE_THRESHOLD;
+    
+    public FoliaTaskScheduler(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    @Override
+    public boolean isOwnedByCurrentThread(@NotNull Entity entity) {
+        return plugin.getServer().isOwnedByCurrentRegion(entity);
+    }
+    
+    @Override
+    public void runForEntity(@NotNull Entity entity, @NotNull Runnable task) {
+        if (isOwnedByCurrentThread(entity)) {
+            task.run();
+        } else {
+            track(entity.getScheduler().run(plugin, tracked(task), null));
+        }
+    }
+    
+    @Override
+    public void runForEntityLater(@NotNull Entity entity, @NotNull Runnable task, long delayTicks) {
+        track(entity.getScheduler().runDelayed(plugin, tracked(task), null, Math.max(1L, delayTicks)));
+    }
+    
+    @Override
+    public void runAtLocation(@NotNull Location location, @NotNull Runnable task) {
+        if (plugin.getServer().isOwnedByCurrentRegion(location)) {
+            task.run();
+        } else {
+            track(plugin.getServer().getRegionScheduler().run(plugin, location, tracked(task)));
+        }
+    }
+    
+    @Override
+    public void runAtLocationLater(@NotNull Location location, @NotNull Runnable task, long delayTicks) {
+        track(plugin.getServer().getRegionScheduler().runDelayed(plugin, location, tracked(task), Math.max(1L, delayTicks)));
+    }
+    
+    @Override
+    public void runGlobal(@NotNull Runnable task) {
+        plugin.getServer().getGlobalRegionScheduler().execute(plugin, task);
+    }
+    
+    @Override
+    @NotNull
+    public TaskHandle runGlobalTimer(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        ScheduledTask scheduledTask = plugin.getServer().getGlobalRegionScheduler()
+                .runAtFixedRate(plugin, t -> task.run(), Math.max(1L, delayTicks), periodTicks);
+        return scheduledTask::cancel;
+    }
+    
+    @Override
+    public void cancelTasks() {
+        plugin.getServer().getGlobalRegionScheduler().cancelTasks(plugin);
+        plugin.getServer().getAsyncScheduler().cancelTasks(plugin);
+        
+        for (ScheduledTask scheduledTask : scheduledTasks) {
+            scheduledTask.cancel();
+        }
+        scheduledTasks.clear();
+    }
+    
+    private Consumer<ScheduledTask> tracked(Runnable task) {
+        return scheduledTask -> {
+            try {
+                task.run();
+            } finally {
+                scheduledTasks.remove(scheduledTask);
+            }
+        };
+    }
+    
+    private void track(@Nullable ScheduledTask scheduledTask) {
+        if (scheduledTask == null) return;
+        
+        scheduledTasks.add(scheduledTask);
+        if (isDone(scheduledTask)) {
+            scheduledTasks.remove(scheduledTask);
+        }
+        if (scheduledTasks.size() > pruneAt) {
+            scheduledTasks.removeIf(FoliaTaskScheduler::isDone);
+            pruneAt = Math.max(PRUNE_THRESHOLD, scheduledTasks.size() * 2);
+        }
+    }
+    
+    private static boolean isDone(ScheduledTask scheduledTask) {
+        ScheduledTask.ExecutionState state = scheduledTask.getExecutionState();
+        return state == ScheduledTask.ExecutionState.FINISHED || state == ScheduledTask.ExecutionState.CANCELLED;
+    }
+}
\ No newline at end of file
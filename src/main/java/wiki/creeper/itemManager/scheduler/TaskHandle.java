@@ -0,0 +1,7 @@
+package wiki.creeper.itemManager.scheduler;
+
+@FunctionalInterface
+public interface TaskHandle {
+    
+    void cancel();
+}
\ No newline at end of file
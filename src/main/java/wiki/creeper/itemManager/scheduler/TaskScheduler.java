@@ -0,0 +1,40 @@
+package wiki.creeper.itemManager.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+public interface TaskScheduler {
+    
+    boolean isOwnedByCurrentThread(@NotNull Entity entity);
+    
+    void runForEntity(@NotNull Entity entity, @NotNull Runnable task);
+    
+    void runForEntityLater(@NotNull Entity entity, @NotNull Runnable task, long delayTicks);
+    
+    void runAtLocation(@NotNull Location location, @NotNull Runnable task);
+    
+    void runAtLocationLater(@NotNull Location location, @NotNull Runnable task, long delayTicks);
+    
+    void runGlobal(@NotNull Runnable task);
+    
+    @NotNull
+    TaskHandle runGlobalTimer(@NotNull Runnable task, long delayTicks, long periodTicks);
+    
+    void cancelTasks();
+    
+    @NotNull
+    static TaskScheduler create(@NotNull Plugin plugin) {
+        return isFolia() ? new FoliaTaskScheduler(plugin) : new BukkitTaskScheduler(plugin);
+    }
+    
+    static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package wiki.creeper.itemManager.task;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import wiki.creeper.itemManager.api.ItemManagerAPI;
+import wiki.creeper.itemManager.api.ItemState;
+import wiki.creeper.itemManager.render.ProtocolLibLoreRenderer;
+import wiki.creeper.itemManager.scheduler.TaskHandle;
+import wiki.creeper.itemManager.scheduler.TaskScheduler;
+import wiki.creeper.itemManager.util.TimeUtil;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CountdownLoreTask implements Runnable {
+    
+    private static final long IDLE_RECHECK_MILLIS = 1000L;
+    private static final int HOTBAR_FIRST_RAW_SLOT = 36;
+    private static final int HOTBAR_SIZE = 9;
+    
+    private record VisibleSlots(Inventory top, long[] nextChange) {
+    }
+    
+    private final Plugin plugin;
+    private final ItemManagerAPI api;
+    private final TaskScheduler scheduler;
+    private final ProtocolLibLoreRenderer renderer;
+    private final Map<UUID, Long> nextRefresh = new ConcurrentHashMap<>();
+    private final Map<UUID, VisibleSlots> visibleSlots = new ConcurrentHashMap<>();
+    private TaskHandle handle;
+    
+    public CountdownLoreTask(@NotNull Plugin plugin, @NotNull ItemManagerAPI api, @NotNull TaskScheduler scheduler,
+                             @NotNull ProtocolLibLoreRenderer renderer) {
+        this.plugin = plugin;
+        this.api = api;
+        this.scheduler = scheduler;
+        this.renderer = renderer;
+    }
+    
+    public void start() {
+        handle = scheduler.runGlobalTimer(this, 20L, 20L);
+    }
+    
+    public void cancel() {
+        if (handle != null) {
+            handle.cancel();
+            handle = null;
+        }
+    }
+    
+    @Override
+    public void run() {
+        long now = System.currentTimeMillis();
+        nextRefresh.keySet().removeIf(uuid -> plugin.getServer().getPlayer(uuid) == null);
+        visibleSlots.keySet().removeIf(uuid -> plugin.getServer().getPlayer(uuid) == null);
+        
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            Long due = nextRefresh.get(player.getUniqueId());
+            if (due != null && due > now) continue;
+            
+            scheduler.runForEntity(player, () -> refresh(player));
+        }
+    }
+    
+    private void refresh(Player player) {
+        if (!player.isOnline()) return;
+        
+        long now = System.currentTimeMillis();
+        long next = Long.MAX_VALUE;
+        
+        InventoryView view = player.getOpenInventory();
+        Inventory top = view.getTopInventory();
+        boolean container = top.getType() != InventoryType.CRAFTING;
+        int first = container ? 0 : HOTBAR_FIRST_RAW_SLOT;
+        int end = container ? view.countSlots() : HOTBAR_FIRST_RAW_SLOT + HOTBAR_SIZE;
+        
+        VisibleSlots previous = visibleSlots.get(player.getUniqueId());
+        boolean sameView = previous != null && previous.nextChange().length == end && previous.top().equals(top);
+        long[] changes = new long[end];
+        int[] stale = new int[end - first];
+        int staleCount = 0;
+        
+        for (int rawSlot = first; rawSlot < end; rawSlot++) {
+            if (sameView && previous.nextChange()[rawSlot] <= now) {
+                stale[staleCount++] = rawSlot;
+            }
+            changes[rawSlot] = nextChange(view.getItem(rawSlot), now);
+            next = Math.min(next, changes[rawSlot]);
+        }
+        
+        if (staleCount > 0) {
+            renderer.resendSlots(player, Arrays.copyOf(stale, staleCount));
+        }
+        visibleSlots.put(player.getUniqueId(), new VisibleSlots(top, changes));
+        
+        if (next == Long.MAX_VALUE) {
+            nextRefresh.put(player.getUniqueId(), now + IDLE_RECHECK_MILLIS);
+            return;
+        }
+        nextRefresh.put(player.getUniqueId(), Math.max(next, now + IDLE_RECHECK_MILLIS));
+    }
+    
+    private long nextChange(ItemStack item, long now) {
+        if (item == null) return Long.MAX_VALUE;
+        
+        ItemState state = api.readState(item);
+        if (!state.hasExpireTime()) return Long.MAX_VALUE;
+        
+        long remaining = state.expireTime() - now;
+        if (remaining <= 0) return Long.MAX_VALUE;
+        
+        return now + remaining % TimeUtil.countdownPrecision(remaining) + 1;
+    }
+}
\ No newline at end of file
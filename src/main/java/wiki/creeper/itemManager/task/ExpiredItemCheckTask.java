@@ -1,46 +1,211 @@
 package wiki.creeper.itemManager.task;
 
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 import wiki.creeper.itemManager.api.ItemManagerAPI;
+import wiki.creeper.itemManager.api.ItemState;
 import wiki.creeper.itemManager.event.ItemExpiredEvent;
-import wiki.creeper.itemManager.util.ItemUtil;
+import wiki.creeper.itemManager.scheduler.TaskHandle;
+import wiki.creeper.itemManager.scheduler.TaskScheduler;
+import wiki.creeper.itemManager.tracker.ExpiryTracker;
+import wiki.creeper.itemManager.tracker.InventorySnapshot;
+import wiki.creeper.itemManager.tracker.PlayerExpiryIndex;
 
-public class ExpiredItemCheckTask extends BukkitRunnable {
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ExpiredItemCheckTask implements Runnable {
     
     private final Plugin plugin;
     private final ItemManagerAPI api;
-    private final long checkInterval;
+    private final ExpiryTracker tracker;
+    private final TaskScheduler scheduler;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long cycleInterval;
+    private final long budgetNanos;
+    private final int budgetSlots;
+    private final Deque<UUID> cursor = new ArrayDeque<>();
+    private final Set<CompletableFuture<Void>> evaluations = ConcurrentHashMap.newKeySet();
+    private long currentTick;
+    private long lastCycleStartTick;
+    private long cycleStartTick = -1;
+    private long lastCycleTicks = -1;
+    private TaskHandle handle;
     
-    public ExpiredItemCheckTask(@NotNull Plugin plugin, @NotNull ItemManagerAPI api, long checkInterval) {
+    public ExpiredItemCheckTask(@NotNull Plugin plugin, @NotNull ItemManagerAPI api, @NotNull ExpiryTracker tracker, @NotNull TaskScheduler scheduler,
+                                long cycleInterval, long budgetMicros, int budgetSlots) {
         this.plugin = plugin;
         this.api = api;
-        this.checkInterval = checkInterval;
+        this.tracker = tracker;
+        this.scheduler = scheduler;
+        this.cycleInterval = cycleInterval;
+        this.budgetNanos = budgetMicros * 1000L;
+        this.budgetSlots = budgetSlots;
     }
     
     public void start() {
-        this.runTaskTimer(plugin, 0L, checkInterval);
+        handle = scheduler.runGlobalTimer(this, 1L, 1L);
     }
     
     @Override
     public void run() {
-        for (Player player : plugin.getServer().getOnlinePlayers()) {
-            for (int i = 0; i < player.getInventory().getSize(); i++) {
-                ItemStack item = player.getInventory().getItem(i);
-                if (item != null && api.isExpired(item)) {
-                    ItemExpiredEvent expiredEvent = new ItemExpiredEvent(player, item, api.getExpireTime(item), ItemExpiredEvent.ExpireAction.PERIODIC_CHECK);
-                    plugin.getServer().getPluginManager().callEvent(expiredEvent);
-                    
-                    if (!expiredEvent.isCancelled()) {
-                        player.getInventory().setItem(i, null);
+        currentTick++;
+        
+        if (cursor.isEmpty()) {
+            if (cycleStartTick >= 0) {
+                lastCycleTicks = currentTick - cycleStartTick;
+                cycleStartTick = -1;
+                plugin.getLogger().fine("Expiry sweep cycle finished in " + lastCycleTicks + " ticks");
+            }
+            
+            if (currentTick - lastCycleStartTick < cycleInterval) return;
+            
+            for (Player player : plugin.getServer().getOnlinePlayers()) {
+                cursor.add(player.getUniqueId());
+            }
+            lastCycleStartTick = currentTick;
+            if (cursor.isEmpty()) return;
+            
+            cycleStartTick = currentTick;
+        }
+        
+        long deadline = System.nanoTime() + budgetNanos;
+        int slots = 0;
+        List<InventorySnapshot> snapshots = new ArrayList<>();
+        
+        while (!cursor.isEmpty()) {
+            Player player = plugin.getServer().getPlayer(cursor.poll());
+            if (player == null) continue;
+            
+            if (scheduler.isOwnedByCurrentThread(player)) {
+                InventorySnapshot snapshot = tracker.snapshot(player);
+                snapshots.add(snapshot);
+                slots += snapshot.states().length;
+            } else {
+                scheduler.runForEntity(player, () -> {
+                    if (player.isOnline()) {
+                        evaluate(List.of(tracker.snapshot(player)));
+                    }
+                });
+                slots += player.getInventory().getSize();
+            }
+            
+            if (slots >= budgetSlots || System.nanoTime() >= deadline) break;
+        }
+        
+        if (!snapshots.isEmpty()) {
+            evaluate(snapshots);
+        }
+    }
+    
+    public void shutdown() {
+        if (handle != null) {
+            handle.cancel();
+            handle = null;
+        }
+        executor.shutdownNow();
+    }
+    
+    public void awaitEvaluations() {
+        for (CompletableFuture<Void> evaluation : List.copyOf(evaluations)) {
+            evaluation.join();
+        }
+    }
+    
+    private void evaluate(List<InventorySnapshot> snapshots) {
+        CompletableFuture<Void> evaluation = CompletableFuture.supplyAsync(() -> {
+            long now = System.currentTimeMillis();
+            List<InventorySnapshot.Result> results = new ArrayList<>(snapshots.size());
+            for (InventorySnapshot snapshot : snapshots) {
+                results.add(snapshot.evaluate(now));
+            }
+            return results;
+        }, executor).thenAccept(results -> {
+            if (!plugin.isEnabled()) return;
+            
+            scheduler.runGlobal(() -> {
+                for (InventorySnapshot.Result result : results) {
+                    Player player = plugin.getServer().getPlayer(result.playerUUID());
+                    if (player != null) {
+                        scheduler.runForEntity(player, () -> apply(player, result));
                     }
                 }
+            });
+        });
+        evaluations.add(evaluation);
+        evaluation.whenComplete((ignored, error) -> evaluations.remove(evaluation));
+    }
+    
+    private void apply(Player player, InventorySnapshot.Result result) {
+        if (!player.isOnline()) return;
+        
+        PlayerInventory inventory = player.getInventory();
+        boolean nestedExpired = false;
+        List<PlayerExpiryIndex.Entry> cancelled = new ArrayList<>();
+        for (PlayerExpiryIndex.Entry entry : result.expired()) {
+            ItemStack item = inventory.getItem(entry.slot());
+            if (item == null) continue;
+            
+            if (entry.nested()) {
+                if (!api.removeExpiredNestedItems(item, nested -> callNestedExpired(player, nested)).isEmpty()) {
+                    inventory.setItem(entry.slot(), item);
+                }
+                nestedExpired = true;
+                continue;
+            }
+            
+            ItemState state = api.readState(item);
+            if (!state.equals(result.states()[entry.slot()])) continue;
+            
+            ItemExpiredEvent expiredEvent = new ItemExpiredEvent(player, item, state.getExpireTimestamp(), ItemExpiredEvent.ExpireAction.PERIODIC_CHECK);
+            plugin.getServer().getPluginManager().callEvent(expiredEvent);
+            
+            if (!expiredEvent.isCancelled()) {
+                inventory.setItem(entry.slot(), null);
+            } else {
+                cancelled.add(entry);
+            }
+        }
+        
+        for (int slot : result.refreshSlots()) {
+            ItemStack item = inventory.getItem(slot);
+            if (item == null || !api.readState(item).equals(result.states()[slot])) continue;
+            
+            boolean migrated = api.migrateLegacyAttribution(item);
+            boolean renamed = api.refreshOwnerNameInPlace(item);
+            boolean cached = api.cacheNestedExpiry(item);
+            if (migrated || renamed || cached) {
+                inventory.setItem(slot, item);
             }
         }
+        
+        if (!tracker.install(result, cancelled) || nestedExpired) {
+            tracker.markDirty(player);
+        }
+    }
+    
+    private boolean callNestedExpired(Player player, ItemStack nested) {
+        ItemExpiredEvent expiredEvent = new ItemExpiredEvent(player, nested, api.readState(nested).getExpireTimestamp(), ItemExpiredEvent.ExpireAction.NESTED_CONTAINER);
+        plugin.getServer().getPluginManager().callEvent(expiredEvent);
+        return !expiredEvent.isCancelled();
+    }
+    
+    public boolean isCycleRunning() {
+        return cycleStartTick >= 0;
+    }
+    
+    public long getLastCycleTicks() {
+        return lastCycleTicks;
     }
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+package wiki.creeper.itemManager.task;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Container;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import wiki.creeper.itemManager.api.ItemManagerAPI;
+import wiki.creeper.itemManager.api.ItemState;
+import wiki.creeper.itemManager.event.ContainerItemExpiredEvent;
+import wiki.creeper.itemManager.event.ItemExpiredEvent;
+import wiki.creeper.itemManager.scheduler.TaskHandle;
+import wiki.creeper.itemManager.scheduler.TaskScheduler;
+import wiki.creeper.itemManager.tracker.BlockKey;
+import wiki.creeper.itemManager.tracker.ChunkKey;
+import wiki.creeper.itemManager.tracker.ExpiryTarget;
+import wiki.creeper.itemManager.tracker.ExpiryTracker;
+import wiki.creeper.itemManager.tracker.PlayerExpiryIndex;
+
+import java.util.List;
+import java.util.UUID;
+
+public class ExpiryWheelTask implements Runnable {
+    
+    private final Plugin plugin;
+    private final ItemManagerAPI api;
+    private final ExpiryTracker tracker;
+    private final TaskScheduler scheduler;
+    private TaskHandle handle;
+    
+    public ExpiryWheelTask(@NotNull Plugin plugin, @NotNull ItemManagerAPI api, @NotNull ExpiryTracker tracker, @NotNull TaskScheduler scheduler) {
+        this.plugin = plugin;
+        this.api = api;
+        this.tracker = tracker;
+        this.scheduler = scheduler;
+    }
+    
+    public void start() {
+        handle = scheduler.runGlobalTimer(this, 1L, 1L);
+    }
+    
+    public void cancel() {
+        if (handle != null) {
+            handle.cancel();
+            handle = null;
+        }
+    }
+    
+    @Override
+    public void run() {
+        long now = System.currentTimeMillis();
+        
+        for (Player player : tracker.drainDueAudits(now)) {
+            scheduler.runForEntity(player, () -> {
+                if (player.isOnline()) {
+                    tracker.resync(player);
+                }
+            });
+        }
+        
+        for (ExpiryTarget target : tracker.advance(now)) {
+            if (target instanceof ExpiryTarget.PlayerTarget playerTarget) {
+                Player player = plugin.getServer().getPlayer(playerTarget.playerUUID());
+                if (player != null) {
+                    scheduler.runForEntity(player, () -> expirePlayerItems(player));
+                }
+            } else if (target instanceof ExpiryTarget.ContainerTarget containerTarget) {
+                BlockKey key = containerTarget.block();
+                World world = plugin.getServer().getWorld(key.world());
+                if (world != null) {
+                    scheduler.runAtLocation(new Location(world, key.x(), key.y(), key.z()), () -> expireContainerItems(world, key));
+                }
+            } else if (target instanceof ExpiryTarget.ChunkTarget chunkTarget) {
+                ChunkKey key = chunkTarget.chunk();
+                World world = plugin.getServer().getWorld(key.world());
+                if (world != null) {
+                    scheduler.runAtLocation(new Location(world, key.x() << 4, 0, key.z() << 4), () -> {
+                        if (world.isChunkLoaded(key.x(), key.z())) {
+                            tracker.scanChunk(world.getChunkAt(key.x(), key.z()));
+                        }
+                    });
+                }
+            } else if (target instanceof ExpiryTarget.EntityTarget entityTarget) {
+                Item item = entityTarget.item();
+                scheduler.runForEntity(item, () -> expireDroppedItem(item));
+            }
+        }
+    }
+    
+    private void expirePlayerItems(Player player) {
+        UUID playerUUID = player.getUniqueId();
+        PlayerExpiryIndex index = tracker.getIndex(playerUUID);
+        if (index == null) return;
+        
+        long now = System.currentTimeMillis();
+        
+        PlayerInventory inventory = player.getInventory();
+        for (PlayerExpiryIndex.Entry entry : index.pollDue(now)) {
+            ItemStack item = inventory.getItem(entry.slot());
+            if (item == null) continue;
+            
+            if (entry.nested()) {
+                expireNestedItems(player, inventory, entry.slot(), item);
+                long remaining = api.getNestedExpiry(item);
+                if (remaining <= now) {
+                    index.retry(new PlayerExpiryIndex.Entry(entry.slot(), remaining, true), now);
+                }
+                index.markDirty();
+                continue;
+            }
+            
+            ItemState state = api.readState(item);
+            if (!state.hasExpireTime() || state.expireTime() != entry.expireTime()) {
+                index.markDirty();
+                continue;
+            }
+            
+            ItemExpiredEvent expiredEvent = new ItemExpiredEvent(player, item, state.getExpireTimestamp(), ItemExpiredEvent.ExpireAction.PERIODIC_CHECK);
+            plugin.getServer().getPluginManager().callEvent(expiredEvent);
+            
+            if (!expiredEvent.isCancelled()) {
+                inventory.setItem(entry.slot(), null);
+            } else {
+                index.retry(entry, now);
+            }
+        }
+        
+        if (index.isDirty()) {
+            tracker.resync(player);
+        } else {
+            tracker.reschedule(playerUUID, index);
+        }
+    }
+    
+    private void expireNestedItems(Player player, PlayerInventory inventory, int slot, ItemStack item) {
+        if (!api.removeExpiredNestedItems(item, nested -> callNestedExpired(player, nested)).isEmpty()) {
+            inventory.setItem(slot, item);
+        }
+    }
+    
+    private boolean callNestedExpired(Player player, ItemStack nested) {
+        ItemExpiredEvent expiredEvent = new ItemExpiredEvent(player, nested, api.readState(nested).getExpireTimestamp(), ItemExpiredEvent.ExpireAction.NESTED_CONTAINER);
+        plugin.getServer().getPluginManager().callEvent(expiredEvent);
+        return !expiredEvent.isCancelled();
+    }
+    
+    private void expireDroppedItem(Item item) {
+        if (!item.isValid()) return;
+        
+        ItemStack stack = item.getItemStack();
+        ItemState state = api.readState(stack);
+        if (!state.hasExpireTime()) return;
+        
+        if (!state.isExpired()) {
+            tracker.trackEntity(item);
+            return;
+        }
+        
+        ItemExpiredEvent expiredEvent = new ItemExpiredEvent(null, stack, state.getExpireTimestamp(), ItemExpiredEvent.ExpireAction.DROPPED_ITEM);
+        plugin.getServer().getPluginManager().callEvent(expiredEvent);
+        
+        if (!expiredEvent.isCancelled()) {
+            item.remove();
+        }
+    }
+    
+    private void expireContainerItems(World world, BlockKey key) {
+        if (!world.isChunkLoaded(key.chunkX(), key.chunkZ())) return;
+        
+        BlockState state = world.getBlockAt(key.x(), key.y(), key.z()).getState(false);
+        if (!(state instanceof Container container)) {
+            tracker.removeContainer(key, world.getChunkAt(key.chunkX(), key.chunkZ()));
+            return;
+        }
+        
+        List<ItemStack> expiredItems = api.removeAllExpiredItems(container.getInventory());
+        if (!expiredItems.isEmpty()) {
+            ContainerItemExpiredEvent event = new ContainerItemExpiredEvent(container, expiredItems, null);
+            plugin.getServer().getPluginManager().callEvent(event);
+        }
+        
+        tracker.trackContainer(container);
+    }
+}
\ No newline at end of file
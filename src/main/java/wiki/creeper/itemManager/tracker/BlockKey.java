@@ -0,0 +1,22 @@
+package wiki.creeper.itemManager.tracker;
+
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+public record BlockKey(UUID world, int x, int y, int z) {
+    
+    @NotNull
+    public static BlockKey of(@NotNull Location location) {
+        return new BlockKey(location.getWorld().getUID(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+    
+    public int chunkX() {
+        return x >> 4;
+    }
+    
+    public int chunkZ() {
+        return z >> 4;
+    }
+}
\ No newline at end of file
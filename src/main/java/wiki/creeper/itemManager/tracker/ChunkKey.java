@@ -0,0 +1,19 @@
+package wiki.creeper.itemManager.tracker;
+
+import org.bukkit.Chunk;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+public record ChunkKey(UUID world, int x, int z) {
+    
+    @NotNull
+    public static ChunkKey of(@NotNull Chunk chunk) {
+        return new ChunkKey(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+    }
+    
+    @NotNull
+    public static ChunkKey of(@NotNull BlockKey block) {
+        return new ChunkKey(block.world(), block.chunkX(), block.chunkZ());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package wiki.creeper.itemManager.tracker;
+
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+public class ChunkSummaryStore {
+    
+    public record Summary(long earliestExpiry, int trackedItems, @Nullable long[] containers) {
+        
+        public boolean hasExpiry() {
+            return earliestExpiry != Long.MAX_VALUE;
+        }
+        
+        public boolean hasContainers() {
+            return containers != null;
+        }
+    }
+    
+    private final NamespacedKey summaryKey;
+    
+    public ChunkSummaryStore(@NotNull Plugin plugin) {
+        this.summaryKey = new NamespacedKey(plugin, "container_summary");
+    }
+    
+    @Nullable
+    public Summary read(@NotNull Chunk chunk) {
+        long[] values = chunk.getPersistentDataContainer().get(summaryKey, PersistentDataType.LONG_ARRAY);
+        if (values == null || values.length < 2) return null;
+        
+        long[] containers = values.length > 2 ? Arrays.copyOfRange(values, 2, values.length) : null;
+        return new Summary(values[0], (int) values[1], containers);
+    }
+    
+    public void write(@NotNull Chunk chunk, @Nullable Summary summary) {
+        PersistentDataContainer container = chunk.getPersistentDataContainer();
+        if (summary == null) {
+            if (container.has(summaryKey)) {
+                container.remove(summaryKey);
+            }
+            return;
+        }
+        
+        long[] containers = summary.containers() != null ? summary.containers() : new long[0];
+        long[] encoded = new long[2 + containers.length];
+        encoded[0] = summary.earliestExpiry();
+        encoded[1] = summary.trackedItems();
+        System.arraycopy(containers, 0, encoded, 2, containers.length);
+        
+        long[] values = container.get(summaryKey, PersistentDataType.LONG_ARRAY);
+        if (Arrays.equals(values, encoded)) return;
+        
+        container.set(summaryKey, PersistentDataType.LONG_ARRAY, encoded);
+    }
+    
+    @NotNull
+    public static long[] pack(@NotNull Collection<BlockKey> blocks) {
+        long[] packed = new long[blocks.size()];
+        int i = 0;
+        for (BlockKey block : blocks) {
+            packed[i++] = ((long) block.y() << 8) | ((block.x() & 15L) << 4) | (block.z() & 15L);
+        }
+        return packed;
+    }
+    
+    @NotNull
+    public static BlockKey unpack(@NotNull ChunkKey chunk, long packed) {
+        return new BlockKey(chunk.world(), (chunk.x() << 4) | (int) ((packed >> 4) & 15L), (int) (packed >> 8), (chunk.z() << 4) | (int) (packed & 15L));
+    }
+}
\ No newline at end of file
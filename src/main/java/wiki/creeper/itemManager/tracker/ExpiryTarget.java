@@ -0,0 +1,20 @@
+package wiki.creeper.itemManager.tracker;
+
+import org.bukkit.entity.Item;
+
+import java.util.UUID;
+
+public sealed interface ExpiryTarget {
+    
+    record PlayerTarget(UUID playerUUID) implements ExpiryTarget {
+    }
+    
+    record ContainerTarget(BlockKey block) implements ExpiryTarget {
+    }
+    
+    record ChunkTarget(ChunkKey chunk) implements ExpiryTarget {
+    }
+    
+    record EntityTarget(Item item) implements ExpiryTarget {
+    }
+}
\ No newline at end of file
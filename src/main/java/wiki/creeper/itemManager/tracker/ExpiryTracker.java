@@ -0,0 +1,433 @@
+package wiki.creeper.itemManager.tracker;
+
+import org.bukkit.Chunk;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Container;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import wiki.creeper.itemManager.api.ItemManagerAPI;
+import wiki.creeper.itemManager.api.ItemState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ExpiryTracker {
+    
+    private static final long TICK_MILLIS = 50L;
+    
+    private record PendingAudit(Player player, long dueAt) {
+    }
+    
+    private record ContainerEntry(long deadline, int trackedItems, @Nullable TimingWheel.Timeout<ExpiryTarget> timeout) {
+    }
+    
+    private record QueuedChunk(ChunkSummaryStore.Summary summary, TimingWheel.Timeout<ExpiryTarget> timeout) {
+    }
+    
+    private final ItemManagerAPI api;
+    private final ChunkSummaryStore summaryStore;
+    private final long auditDelayMillis;
+    private final TimingWheel<ExpiryTarget> wheel = new TimingWheel<>(TICK_MILLIS, System.currentTimeMillis());
+    private final Map<UUID, PlayerExpiryIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<UUID, TimingWheel.Timeout<ExpiryTarget>> playerTimeouts = new HashMap<>();
+    private final Map<ChunkKey, Map<BlockKey, ContainerEntry>> containers = new ConcurrentHashMap<>();
+    private final Map<ChunkKey, QueuedChunk> queuedChunks = new ConcurrentHashMap<>();
+    private final Map<UUID, TimingWheel.Timeout<ExpiryTarget>> entityTimeouts = new HashMap<>();
+    private final Map<UUID, PendingAudit> pendingAudits = new LinkedHashMap<>();
+    
+    public ExpiryTracker(@NotNull ItemManagerAPI api, @NotNull ChunkSummaryStore summaryStore, long auditDelayTicks) {
+        this.api = api;
+        this.summaryStore = summaryStore;
+        this.auditDelayMillis = Math.max(0L, auditDelayTicks) * TICK_MILLIS;
+    }
+    
+    public void track(@NotNull Player player) {
+        PlayerExpiryIndex index = new PlayerExpiryIndex();
+        index.rebuild(player.getInventory(), api);
+        
+        indexes.put(player.getUniqueId(), index);
+        reschedule(player.getUniqueId(), index);
+    }
+    
+    public void untrack(@NotNull UUID playerUUID) {
+        indexes.remove(playerUUID);
+        synchronized (pendingAudits) {
+            pendingAudits.remove(playerUUID);
+        }
+        
+        synchronized (wheel) {
+            TimingWheel.Timeout<ExpiryTarget> timeout = playerTimeouts.remove(playerUUID);
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+    
+    public void markDirty(@NotNull Player player) {
+        PlayerExpiryIndex index = indexes.get(player.getUniqueId());
+        if (index != null) {
+            index.markDirty();
+            scheduleAudit(player);
+        }
+    }
+    
+    public void markDirty(@NotNull Player player, boolean itemTracked) {
+        PlayerExpiryIndex index = indexes.get(player.getUniqueId());
+        if (index != null && (itemTracked || index.hasTrackedItems())) {
+            index.markDirty();
+            scheduleAudit(player);
+        }
+    }
+    
+    public void requestAudit(@NotNull Player player) {
+        PlayerExpiryIndex index = indexes.get(player.getUniqueId());
+        if (index == null) {
+            indexes.putIfAbsent(player.getUniqueId(), new PlayerExpiryIndex());
+        } else if (!index.isDirty() && !index.hasTrackedItems()) {
+            return;
+        }
+        
+        scheduleAudit(player);
+    }
+    
+    @Nullable
+    public PlayerExpiryIndex getIndex(@NotNull UUID playerUUID) {
+        return indexes.get(playerUUID);
+    }
+    
+    public void resync(@NotNull Player player) {
+        PlayerExpiryIndex index = getIndex(player.getUniqueId());
+        if (index == null) {
+            track(player);
+            return;
+        }
+        
+        index.rebuild(player.getInventory(), api);
+        reschedule(player.getUniqueId(), index);
+    }
+    
+    @NotNull
+    public InventorySnapshot snapshot(@NotNull Player player) {
+        PlayerExpiryIndex index = indexes.computeIfAbsent(player.getUniqueId(), uuid -> new PlayerExpiryIndex());
+        return InventorySnapshot.capture(player, api, index.getVersion());
+    }
+    
+    public boolean install(@NotNull InventorySnapshot.Result result, @NotNull List<PlayerExpiryIndex.Entry> cancelled) {
+        PlayerExpiryIndex index = indexes.get(result.playerUUID());
+        if (index == null) return false;
+        
+        List<PlayerExpiryIndex.Entry> entries = new ArrayList<>(result.pending());
+        entries.addAll(cancelled);
+        if (!index.load(entries, result.trackedItems(), result.version())) return false;
+        
+        long now = System.currentTimeMillis();
+        for (PlayerExpiryIndex.Entry entry : cancelled) {
+            index.retry(entry, now);
+        }
+        reschedule(result.playerUUID(), index);
+        return true;
+    }
+    
+    public void reschedule(@NotNull UUID playerUUID, @NotNull PlayerExpiryIndex index) {
+        long deadline = index.nextDeadline();
+        
+        synchronized (wheel) {
+            TimingWheel.Timeout<ExpiryTarget> previous = playerTimeouts.remove(playerUUID);
+            if (previous != null) {
+                previous.cancel();
+            }
+            
+            if (indexes.get(playerUUID) != index) return;
+            
+            if (deadline != Long.MAX_VALUE) {
+                playerTimeouts.put(playerUUID, wheel.schedule(deadline, new ExpiryTarget.PlayerTarget(playerUUID)));
+            }
+        }
+    }
+    
+    public void trackContainer(@NotNull Container container) {
+        Chunk chunk = container.getLocation().getChunk();
+        promoteQueued(chunk);
+        indexContainer(container);
+        writeSummary(chunk);
+    }
+    
+    public void removeContainer(@NotNull BlockKey key, @NotNull Chunk chunk) {
+        promoteQueued(chunk);
+        untrackContainer(key);
+        writeSummary(chunk);
+    }
+    
+    public void untrackContainer(@NotNull BlockKey key) {
+        ChunkKey chunk = ChunkKey.of(key);
+        Map<BlockKey, ContainerEntry> entries = containers.get(chunk);
+        if (entries == null) return;
+        
+        ContainerEntry entry = entries.remove(key);
+        if (entry != null) {
+            cancel(entry.timeout());
+        }
+        containers.computeIfPresent(chunk, (ignored, remaining) -> remaining.isEmpty() ? null : remaining);
+    }
+    
+    public void loadChunk(@NotNull Chunk chunk, long now) {
+        ChunkSummaryStore.Summary summary = summaryStore.read(chunk);
+        if (summary == null || !summary.hasExpiry()) return;
+        
+        ChunkKey key = ChunkKey.of(chunk);
+        if (summary.earliestExpiry() <= now || isIndexed(key)) {
+            scanChunk(chunk, summary);
+            return;
+        }
+        
+        synchronized (wheel) {
+            QueuedChunk previous = queuedChunks.put(key, new QueuedChunk(summary,
+                    wheel.schedule(summary.earliestExpiry(), new ExpiryTarget.ChunkTarget(key))));
+            if (previous != null) {
+                previous.timeout().cancel();
+            }
+        }
+    }
+    
+    public void scanChunk(@NotNull Chunk chunk) {
+        scanChunk(chunk, summaryStore.read(chunk));
+    }
+    
+    private void scanChunk(Chunk chunk, @Nullable ChunkSummaryStore.Summary summary) {
+        ChunkKey key = ChunkKey.of(chunk);
+        if (summary != null && !summary.hasContainers()) {
+            untrackChunk(key);
+            for (BlockState state : chunk.getTileEntities(false)) {
+                if (state instanceof Container container) {
+                    indexContainer(container);
+                }
+            }
+            writeSummary(chunk);
+            return;
+        }
+        
+        Set<BlockKey> blocks = new LinkedHashSet<>();
+        if (summary != null) {
+            for (long packed : summary.containers()) {
+                blocks.add(ChunkSummaryStore.unpack(key, packed));
+            }
+        }
+        Map<BlockKey, ContainerEntry> entries = containers.get(key);
+        if (entries != null) {
+            blocks.addAll(entries.keySet());
+        }
+        
+        untrackChunk(key);
+        for (BlockKey block : blocks) {
+            if (chunk.getBlock(block.x() & 15, block.y(), block.z() & 15).getState(false) instanceof Container container) {
+                indexContainer(container);
+            }
+        }
+        
+        writeSummary(chunk);
+    }
+    
+    public void untrackChunk(@NotNull ChunkKey chunk) {
+        Map<BlockKey, ContainerEntry> entries = containers.remove(chunk);
+        
+        synchronized (wheel) {
+            QueuedChunk queued = queuedChunks.remove(chunk);
+            if (queued != null) {
+                queued.timeout().cancel();
+            }
+            if (entries == null) return;
+            
+            for (ContainerEntry entry : entries.values()) {
+                if (entry.timeout() != null) {
+                    entry.timeout().cancel();
+                }
+            }
+        }
+    }
+    
+    public void writeSummary(@NotNull Chunk chunk) {
+        summaryStore.write(chunk, summarize(ChunkKey.of(chunk)));
+    }
+    
+    public long getContainerDeadline(@NotNull BlockKey key) {
+        Map<BlockKey, ContainerEntry> entries = containers.get(ChunkKey.of(key));
+        ContainerEntry entry = entries != null ? entries.get(key) : null;
+        return entry != null ? entry.deadline() : Long.MAX_VALUE;
+    }
+    
+    public int trackedContainers() {
+        int count = 0;
+        for (Map<BlockKey, ContainerEntry> entries : containers.values()) {
+            count += entries.size();
+        }
+        return count;
+    }
+    
+    public int queuedChunks() {
+        return queuedChunks.size();
+    }
+    
+    public void trackEntity(@NotNull Item item) {
+        ItemState state = api.readState(item.getItemStack());
+        if (!state.hasExpireTime()) {
+            untrackEntity(item.getUniqueId());
+            return;
+        }
+        
+        synchronized (wheel) {
+            TimingWheel.Timeout<ExpiryTarget> previous = entityTimeouts.put(item.getUniqueId(),
+                    wheel.schedule(state.expireTime(), new ExpiryTarget.EntityTarget(item)));
+            if (previous != null) {
+                previous.cancel();
+            }
+        }
+    }
+    
+    public void untrackEntity(@NotNull UUID entityUUID) {
+        synchronized (wheel) {
+            TimingWheel.Timeout<ExpiryTarget> timeout = entityTimeouts.remove(entityUUID);
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+    
+    public int trackedEntities() {
+        synchronized (wheel) {
+            return entityTimeouts.size();
+        }
+    }
+    
+    @NotNull
+    public List<Player> drainDueAudits(long now) {
+        synchronized (pendingAudits) {
+            if (pendingAudits.isEmpty()) return List.of();
+            
+            List<Player> due = new ArrayList<>();
+            Iterator<PendingAudit> iterator = pendingAudits.values().iterator();
+            while (iterator.hasNext()) {
+                PendingAudit audit = iterator.next();
+                if (audit.dueAt() > now) break;
+                
+                due.add(audit.player());
+                iterator.remove();
+            }
+            return due;
+        }
+    }
+    
+    @NotNull
+    public List<ExpiryTarget> advance(long now) {
+        List<ExpiryTarget> due = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(now, target -> {
+                if (target instanceof ExpiryTarget.PlayerTarget playerTarget) {
+                    playerTimeouts.remove(playerTarget.playerUUID());
+                } else if (target instanceof ExpiryTarget.ChunkTarget chunkTarget) {
+                    queuedChunks.remove(chunkTarget.chunk());
+                } else if (target instanceof ExpiryTarget.EntityTarget entityTarget) {
+                    entityTimeouts.remove(entityTarget.item().getUniqueId());
+                }
+                due.add(target);
+            });
+        }
+        return due;
+    }
+    
+    public int pendingTimeouts() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+    
+    private boolean isIndexed(ChunkKey chunk) {
+        return containers.containsKey(chunk);
+    }
+    
+    private void promoteQueued(Chunk chunk) {
+        QueuedChunk queued = queuedChunks.get(ChunkKey.of(chunk));
+        if (queued != null) {
+            scanChunk(chunk, queued.summary());
+        }
+    }
+    
+    private void scheduleAudit(Player player) {
+        synchronized (pendingAudits) {
+            pendingAudits.putIfAbsent(player.getUniqueId(), new PendingAudit(player, System.currentTimeMillis() + auditDelayMillis));
+        }
+    }
+    
+    private void cancel(@Nullable TimingWheel.Timeout<ExpiryTarget> timeout) {
+        if (timeout == null) return;
+        
+        synchronized (wheel) {
+            timeout.cancel();
+        }
+    }
+    
+    private void indexContainer(Container container) {
+        BlockKey key = BlockKey.of(container.getLocation());
+        long earliest = Long.MAX_VALUE;
+        int trackedItems = 0;
+        
+        for (ItemStack item : container.getInventory().getContents()) {
+            if (item == null) continue;
+            
+            ItemState state = api.readState(item);
+            long nestedExpiry = api.getNestedExpiry(item);
+            if (!state.isTracked() && nestedExpiry == Long.MAX_VALUE) continue;
+            
+            trackedItems++;
+            if (state.hasExpireTime() && state.expireTime() < earliest) {
+                earliest = state.expireTime();
+            }
+            earliest = Math.min(earliest, nestedExpiry);
+        }
+        
+        if (trackedItems == 0) {
+            untrackContainer(key);
+            return;
+        }
+        
+        TimingWheel.Timeout<ExpiryTarget> timeout = null;
+        if (earliest != Long.MAX_VALUE) {
+            synchronized (wheel) {
+                timeout = wheel.schedule(earliest, new ExpiryTarget.ContainerTarget(key));
+            }
+        }
+        ContainerEntry previous = containers.computeIfAbsent(ChunkKey.of(key), chunk -> new ConcurrentHashMap<>())
+                .put(key, new ContainerEntry(earliest, trackedItems, timeout));
+        if (previous != null) {
+            cancel(previous.timeout());
+        }
+    }
+    
+    @Nullable
+    private ChunkSummaryStore.Summary summarize(ChunkKey chunk) {
+        Map<BlockKey, ContainerEntry> entries = containers.get(chunk);
+        if (entries == null) {
+            QueuedChunk queued = queuedChunks.get(chunk);
+            return queued != null ? queued.summary() : null;
+        }
+        
+        long earliest = Long.MAX_VALUE;
+        int trackedItems = 0;
+        for (ContainerEntry entry : entries.values()) {
+            earliest = Math.min(earliest, entry.deadline());
+            trackedItems += entry.trackedItems();
+        }
+        
+        return trackedItems > 0 ? new ChunkSummaryStore.Summary(earliest, trackedItems, ChunkSummaryStore.pack(entries.keySet())) : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package wiki.creeper.itemManager.tracker;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.jetbrains.annotations.NotNull;
+import wiki.creeper.itemManager.api.ItemManagerAPI;
+import wiki.creeper.itemManager.api.ItemState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+public record InventorySnapshot(UUID playerUUID, long version, ItemState[] states, long[] nestedExpiries, int[] refreshSlots) {
+    
+    public record Result(UUID playerUUID, long version, List<PlayerExpiryIndex.Entry> expired,
+                         List<PlayerExpiryIndex.Entry> pending, ItemState[] states, int[] refreshSlots, int trackedItems) {
+    }
+    
+    @NotNull
+    public static InventorySnapshot capture(@NotNull Player player, @NotNull ItemManagerAPI api, long version) {
+        PlayerInventory inventory = player.getInventory();
+        ItemState[] states = new ItemState[inventory.getSize()];
+        long[] nestedExpiries = new long[states.length];
+        int[] refreshSlots = new int[states.length];
+        int refreshCount = 0;
+        
+        for (int i = 0; i < states.length; i++) {
+            ItemStack item = inventory.getItem(i);
+            if (item == null) {
+                states[i] = ItemState.EMPTY;
+                nestedExpiries[i] = Long.MAX_VALUE;
+                continue;
+            }
+            
+            ItemState state = api.readState(item);
+            states[i] = state;
+            nestedExpiries[i] = api.getNestedExpiry(item);
+            if (state.hasAttribution() || api.isContainerItem(item)) {
+                refreshSlots[refreshCount++] = i;
+            }
+        }
+        
+        return new InventorySnapshot(player.getUniqueId(), version, states, nestedExpiries, Arrays.copyOf(refreshSlots, refreshCount));
+    }
+    
+    @NotNull
+    public Result evaluate(long now) {
+        List<PlayerExpiryIndex.Entry> expired = new ArrayList<>();
+        List<PlayerExpiryIndex.Entry> pending = new ArrayList<>();
+        int trackedItems = 0;
+        
+        for (int i = 0; i < states.length; i++) {
+            ItemState state = states[i];
+            boolean hasNested = nestedExpiries[i] != Long.MAX_VALUE;
+            if (!state.isTracked() && !hasNested) continue;
+            
+            trackedItems++;
+            if (state.hasExpireTime()) {
+                PlayerExpiryIndex.Entry entry = new PlayerExpiryIndex.Entry(i, state.expireTime(), false);
+                if (state.isExpired(now)) {
+                    expired.add(entry);
+                } else {
+                    pending.add(entry);
+                }
+            }
+            if (hasNested) {
+                PlayerExpiryIndex.Entry entry = new PlayerExpiryIndex.Entry(i, nestedExpiries[i], true);
+                if (entry.expireTime() < now) {
+                    expired.add(entry);
+                } else {
+                    pending.add(entry);
+                }
+            }
+        }
+        
+        return new Result(playerUUID, version, expired, pending, states, refreshSlots, trackedItems);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package wiki.creeper.itemManager.tracker;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import wiki.creeper.itemManager.api.ItemManagerAPI;
+import wiki.creeper.itemManager.api.ItemState;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+public class PlayerExpiryIndex {
+    
+    public record Entry(int slot, long expireTime, boolean nested) {
+    }
+    
+    private record Retry(long retryAt, int attempts) {
+    }
+    
+    private static final long RETRY_BASE_MILLIS = 1000L;
+    private static final long RETRY_MAX_MILLIS = 60_000L;
+    
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparingLong(Entry::expireTime));
+    private final Map<Entry, Retry> retries = new HashMap<>();
+    private int trackedItems;
+    private boolean dirty = true;
+    private long version;
+    
+    public synchronized void rebuild(@NotNull Inventory inventory, @NotNull ItemManagerAPI api) {
+        List<Entry> entries = new ArrayList<>();
+        trackedItems = 0;
+        
+        for (int i = 0; i < inventory.getSize(); i++) {
+            ItemStack item = inventory.getItem(i);
+            if (item == null) continue;
+            
+            ItemState state = api.readState(item);
+            long nestedExpiry = api.getNestedExpiry(item);
+            if (!state.isTracked() && nestedExpiry == Long.MAX_VALUE) continue;
+            
+            trackedItems++;
+            if (state.hasExpireTime()) {
+                entries.add(new Entry(i, state.expireTime(), false));
+            }
+            if (nestedExpiry != Long.MAX_VALUE) {
+                entries.add(new Entry(i, nestedExpiry, true));
+            }
+        }
+        
+        replace(entries);
+        dirty = false;
+        version++;
+    }
+    
+    public synchronized boolean load(@NotNull List<Entry> entries, int trackedItems, long expectedVersion) {
+        if (version != expectedVersion) return false;
+        
+        replace(entries);
+        this.trackedItems = trackedItems;
+        
+        dirty = false;
+        version++;
+        return true;
+    }
+    
+    @NotNull
+    public synchronized List<Entry> pollDue(long now) {
+        List<Entry> due = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().expireTime() < now) {
+            due.add(queue.poll());
+        }
+        
+        for (Map.Entry<Entry, Retry> retry : retries.entrySet()) {
+            if (retry.getValue().retryAt() < now) {
+                due.add(retry.getKey());
+                retry.setValue(new Retry(Long.MAX_VALUE, retry.getValue().attempts()));
+            }
+        }
+        return due;
+    }
+    
+    public synchronized void retry(@NotNull Entry entry, long now) {
+        Retry previous = retries.get(entry);
+        int attempts = previous != null ? previous.attempts() + 1 : 0;
+        long delay = Math.min(RETRY_MAX_MILLIS, RETRY_BASE_MILLIS << Math.min(attempts, 16));
+        retries.put(entry, new Retry(now + delay, attempts));
+        queue.remove(entry);
+    }
+    
+    public synchronized long nextDeadline() {
+        Entry head = queue.peek();
+        long deadline = head != null ? head.expireTime() : Long.MAX_VALUE;
+        for (Retry retry : retries.values()) {
+            deadline = Math.min(deadline, retry.retryAt());
+        }
+        return deadline;
+    }
+    
+    public synchronized void markDirty() {
+        dirty = true;
+        version++;
+    }
+    
+    public synchronized boolean isDirty() {
+        return dirty;
+    }
+    
+    public synchronized long getVersion() {
+        return version;
+    }
+    
+    public synchronized boolean hasTrackedItems() {
+        return trackedItems > 0;
+    }
+    
+    public synchronized int size() {
+        return queue.size() + retries.size();
+    }
+    
+    private void replace(List<Entry> entries) {
+        queue.clear();
+        retries.keySet().retainAll(new HashSet<>(entries));
+        for (Entry entry : entries) {
+            if (!retries.containsKey(entry)) {
+                queue.add(entry);
+            }
+        }
+    }
+}
\ No newline at end of file
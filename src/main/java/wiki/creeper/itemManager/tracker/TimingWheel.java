@@ -0,0 +1,185 @@
+package wiki.creeper.itemManager.tracker;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class TimingWheel<T> {
+    
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 6;
+    
+    public static final class Timeout<T> {
+        
+        private final TimingWheel<T> wheel;
+        private final T payload;
+        private final long deadline;
+        private final long deadlineTick;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        
+        private Timeout(TimingWheel<T> wheel, T payload, long deadline, long deadlineTick) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadline = deadline;
+            this.deadlineTick = deadlineTick;
+        }
+        
+        @NotNull
+        public T payload() {
+            return payload;
+        }
+        
+        public long deadline() {
+            return deadline;
+        }
+        
+        public boolean isPending() {
+            return bucket != null;
+        }
+        
+        public boolean cancel() {
+            if (bucket == null) return false;
+            
+            bucket.unlink(this);
+            wheel.size--;
+            return true;
+        }
+    }
+    
+    private static final class Bucket<T> {
+        
+        private Timeout<T> head;
+        
+        private void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+        
+        private void unlink(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+        
+        private Timeout<T> detach() {
+            Timeout<T> first = head;
+            head = null;
+            return first;
+        }
+    }
+    
+    private final long tickMillis;
+    private final Bucket<T>[][] wheels;
+    private final Bucket<T> overdue = new Bucket<>();
+    private long currentTick;
+    private int size;
+    
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+        this.wheels = new Bucket[LEVELS][WHEEL_SIZE];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                wheels[level][slot] = new Bucket<>();
+            }
+        }
+    }
+    
+    @NotNull
+    public Timeout<T> schedule(long deadlineMillis, @NotNull T payload) {
+        Timeout<T> timeout = new Timeout<>(this, payload, deadlineMillis, Math.floorDiv(deadlineMillis, tickMillis) + 1);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+    
+    public void advance(long nowMillis, @NotNull Consumer<? super T> consumer) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        List<Timeout<T>> due = new ArrayList<>();
+        
+        collect(overdue, due);
+        while (currentTick < targetTick) {
+            currentTick++;
+            
+            for (int level = LEVELS - 1; level > 0; level--) {
+                long levelMask = (1L << (WHEEL_BITS * level)) - 1;
+                if ((currentTick & levelMask) != 0) continue;
+                
+                int slot = (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+                cascade(wheels[level][slot]);
+            }
+            
+            collect(wheels[0][(int) (currentTick & WHEEL_MASK)], due);
+            collect(overdue, due);
+        }
+        
+        for (Timeout<T> timeout : due) {
+            consumer.accept(timeout.payload);
+        }
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        if (delta <= 0) {
+            overdue.add(timeout);
+            return;
+        }
+        
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        
+        int slot = (int) ((timeout.deadlineTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        wheels[level][slot].add(timeout);
+    }
+    
+    private void cascade(Bucket<T> bucket) {
+        Timeout<T> timeout = bucket.detach();
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+            place(timeout);
+            timeout = next;
+        }
+    }
+    
+    private void collect(Bucket<T> bucket, List<Timeout<T>> due) {
+        Timeout<T> timeout = bucket.detach();
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+            due.add(timeout);
+            size--;
+            timeout = next;
+        }
+    }
+}
\ No newline at end of file
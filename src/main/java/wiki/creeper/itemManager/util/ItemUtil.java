@@ -127,8 +127,7 @@ public class ItemUtil {
         if (api.isAttribution(item)) {
             UUID attribution = api.getAttribution(item);
             if (attribution != null) {
-                String ownerName = player.getServer().getOfflinePlayer(attribution).getName();
-                ownerName = ownerName != null ? ownerName : attribution.toString();
+                String ownerName = api.getOwnerName(attribution);
                 
                 boolean isOwner = attribution.equals(player.getUniqueId());
                 NamedTextColor ownerColor = isOwner ? NamedTextColor.GREEN : NamedTextColor.RED;
@@ -72,8 +72,26 @@ public class TimeUtil {
     
     @NotNull
     public static String formatRemainingTime(@NotNull Timestamp expireTime) {
-        long remaining = expireTime.getTime() - System.currentTimeMillis();
+        return formatRemainingTime(expireTime.getTime() - System.currentTimeMillis());
+    }
+    
+    @NotNull
+    public static String formatRemainingTime(long remaining, long precisionMillis) {
+        if (remaining <= 0) {
+            return formatRemainingTime(remaining);
+        }
         
+        return formatRemainingTime(Math.max(precisionMillis, remaining - remaining % precisionMillis));
+    }
+    
+    public static long countdownPrecision(long remaining) {
+        if (remaining <= TIME_UNITS.get("m")) return TIME_UNITS.get("s");
+        if (remaining <= TIME_UNITS.get("h")) return TIME_UNITS.get("m");
+        return TIME_UNITS.get("h");
+    }
+    
+    @NotNull
+    private static String formatRemainingTime(long remaining) {
         if (remaining <= 0) {
             return "만료됨";
         }